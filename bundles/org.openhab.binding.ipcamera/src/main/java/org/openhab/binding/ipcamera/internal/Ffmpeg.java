@@ -46,25 +46,20 @@ import org.slf4j.LoggerFactory;
 public class Ffmpeg {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private IpCameraHandler ipCameraHandler;
-    private @Nullable Process process = null;
+    private volatile @Nullable Process process = null;
     private String ffmpegCommand = "";
     private FFmpegFormat format;
     private List<String> commandArrayList = new ArrayList<String>();
     private IpCameraFfmpegThread ipCameraFfmpegThread = new IpCameraFfmpegThread();
+    private @Nullable FfmpegIngest ingest = null;
     private int keepAlive = 8;
-    private boolean running = false;
+    private volatile boolean running = false;
 
     public Ffmpeg(IpCameraHandler handle, FFmpegFormat format, String ffmpegLocation, String inputArguments,
             String input, String outArguments, String output, String username, String password) {
         this.format = format;
         ipCameraHandler = handle;
-        String altInput = input;
-        // Input can be snapshots not just rtsp or http
-        if (!password.isEmpty() && !input.contains("@") && input.contains("rtsp")) {
-            String credentials = username + ":" + password + "@";
-            // will not work for https: but currently binding does not use https
-            altInput = input.substring(0, 7) + credentials + input.substring(7);
-        }
+        String altInput = addCredentials(input, username, password);
         if (inputArguments.isEmpty()) {
             ffmpegCommand = "-i " + altInput + " " + outArguments + " " + output;
         } else {
@@ -75,6 +70,26 @@ public class Ffmpeg {
         commandArrayList.add(0, ffmpegLocation);
     }
 
+    /**
+     * Creates a conversion that reads the stream of the camera from the shared input on stdin.
+     */
+    public Ffmpeg(IpCameraHandler handle, FFmpegFormat format, String ffmpegLocation, String inputArguments,
+            FfmpegIngest ingest, String outArguments, String output) {
+        this(handle, format, ffmpegLocation, (inputArguments + " -f mpegts").trim(), "pipe:0", outArguments, output,
+                "", "");
+        this.ingest = ingest;
+    }
+
+    public static String addCredentials(String input, String username, String password) {
+        // Input can be snapshots not just rtsp or http
+        if (!password.isEmpty() && !input.contains("@") && input.contains("rtsp")) {
+            String credentials = username + ":" + password + "@";
+            // will not work for https: but currently binding does not use https
+            return input.substring(0, 7) + credentials + input.substring(7);
+        }
+        return input;
+    }
+
     public void setKeepAlive(int seconds) {
         if (seconds == -1) {
             keepAlive = -1;
@@ -117,8 +132,25 @@ public class Ffmpeg {
 
         @Override
         public void run() {
+            FfmpegPool ffmpegPool = ipCameraHandler.getFfmpegPool();
+            try {
+                if (!ffmpegPool.acquire(format.toString(), FfmpegPool.ACQUIRE_TIMEOUT)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                logger.debug("FFmpeg {} was stopped before it could start.", format);
+                return;
+            }
+            FfmpegIngest.@Nullable Subscriber subscriber = null;
             try {
                 process = Runtime.getRuntime().exec(commandArrayList.toArray(new String[commandArrayList.size()]));
+                FfmpegIngest localIngest = ingest;
+                if (!running && process != null) {
+                    // stopped while waiting for the pool
+                    process.destroyForcibly();
+                } else if (localIngest != null && process != null) {
+                    subscriber = localIngest.subscribe(process.getOutputStream());
+                }
                 if (process != null) {
                     InputStream errorStream = process.getErrorStream();
                     InputStreamReader errorStreamReader = new InputStreamReader(errorStream);
@@ -154,6 +186,10 @@ public class Ffmpeg {
             } catch (IOException e) {
                 logger.warn("An error occured trying to process the messages from FFmpeg.");
             } finally {
+                if (subscriber != null) {
+                    subscriber.close();
+                }
+                ffmpegPool.release();
                 switch (format) {
                     case GIF:
                         threadPool.schedule(this::gifCreated, 800, TimeUnit.MILLISECONDS);
@@ -172,8 +208,9 @@ public class Ffmpeg {
         if (!ipCameraFfmpegThread.isAlive()) {
             ipCameraFfmpegThread = new IpCameraFfmpegThread();
             logger.debug("Starting ffmpeg with this command now:{}", ffmpegCommand);
-            ipCameraFfmpegThread.start();
+            process = null;
             running = true;
+            ipCameraFfmpegThread.start();
             if (format.equals(FFmpegFormat.HLS)) {
                 ipCameraHandler.setChannelState(CHANNEL_START_STREAM, OnOffType.ON);
             }
@@ -193,6 +230,9 @@ public class Ffmpeg {
             running = false;
             if (process != null) {
                 process.destroyForcibly();
+            } else {
+                // still waiting for the pool
+                ipCameraFfmpegThread.interrupt();
             }
             if (format.equals(FFmpegFormat.HLS)) {
                 if (keepAlive == -1) {
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link FfmpegIngest} pulls the RTSP stream of a camera once with FFmpeg, copies it without transcoding into a
+ * MPEG-TS stream and feeds this to the stdin of every FFmpeg conversion of the camera. FFmpeg is started with the
+ * first conversion and stopped with the last one. Every conversion has a limited queue, a conversion that does not
+ * keep up loses whole TS packets instead of slowing down the others. The FFmpeg process of the input only runs while
+ * a conversion that holds a slot of the {@link FfmpegPool} uses it, so it does not take a slot of its own. The pool
+ * runs its reading and writing threads.
+ *
+ *
+ * @author agent - Initial contribution
+ */
+
+@NonNullByDefault
+public class FfmpegIngest {
+    private static final int TS_PACKET_SIZE = 188;
+    private static final int CHUNK_SIZE = TS_PACKET_SIZE * 348; // 64 KB
+    private static final int QUEUED_CHUNKS = 64;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final List<String> commandArrayList = new ArrayList<String>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final FfmpegPool ffmpegPool;
+    private @Nullable Process process = null;
+
+    public FfmpegIngest(FfmpegPool ffmpegPool, String ffmpegLocation, String inputArguments, String input,
+            String username, String password) {
+        this.ffmpegPool = ffmpegPool;
+        String ffmpegCommand = "-hide_banner -loglevel warning " + inputArguments + " -i "
+                + Ffmpeg.addCredentials(input, username, password) + " -c copy -f mpegts pipe:1";
+        Collections.addAll(commandArrayList, ffmpegCommand.trim().split("\\s+"));
+        // ffmpegLocation may have a space in its folder
+        commandArrayList.add(0, ffmpegLocation);
+    }
+
+    /**
+     * Feeds the stream to the stdin of a FFmpeg process until the returned subscriber is closed or the stream ends.
+     *
+     * @throws IOException if the input could not be started
+     */
+    public synchronized Subscriber subscribe(OutputStream stdin) throws IOException {
+        Subscriber subscriber = addSubscriber(stdin);
+        if (!isIngesting()) {
+            try {
+                startIngest();
+            } catch (IOException e) {
+                subscribers.remove(subscriber);
+                subscriber.close();
+                throw e;
+            }
+        }
+        return subscriber;
+    }
+
+    private boolean isIngesting() {
+        Process localProcess = process;
+        return localProcess != null && localProcess.isAlive();
+    }
+
+    private Subscriber addSubscriber(OutputStream stdin) {
+        Subscriber subscriber = new Subscriber(stdin);
+        subscribers.add(subscriber);
+        subscriber.start();
+        return subscriber;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+            stop();
+        }
+    }
+
+    public synchronized void stop() {
+        Process localProcess = process;
+        if (localProcess != null) {
+            logger.debug("Stopping the shared FFmpeg input now");
+            localProcess.destroyForcibly();
+            process = null;
+        }
+    }
+
+    private void startIngest() throws IOException {
+        logger.debug("Starting the shared FFmpeg input with this command now:{}", String.join(" ", commandArrayList));
+        Process localProcess = new ProcessBuilder(commandArrayList).start();
+        process = localProcess;
+        ffmpegPool.execute(() -> logErrors(localProcess));
+        ffmpegPool.execute(() -> readStream(localProcess));
+    }
+
+    private void logErrors(Process localProcess) {
+        try (BufferedReader bufferedReader = new BufferedReader(
+                new InputStreamReader(localProcess.getErrorStream()))) {
+            String line = null;
+            while ((line = bufferedReader.readLine()) != null) {
+                logger.debug("{}", line);
+            }
+        } catch (IOException e) {
+        }
+    }
+
+    private void readStream(Process localProcess) {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        try (InputStream inputStream = localProcess.getInputStream()) {
+            int length;
+            while ((length = readPackets(inputStream, chunk)) > 0) {
+                // The chunk is shared by all subscribers as none of them changes it.
+                byte[] packets = Arrays.copyOf(chunk, length);
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(packets);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Reading the shared FFmpeg input failed:{}", e.getMessage());
+        } finally {
+            // The stream has ended, so the process is of no use even if it is still alive.
+            localProcess.destroyForcibly();
+        }
+        synchronized (this) {
+            if (process == localProcess || process == null) {
+                // The conversions get the rest of the stream and then its end, so they finish.
+                if (process == localProcess && !subscribers.isEmpty()) {
+                    logger.warn("The shared FFmpeg input has stopped, check the RTSP stream of the camera.");
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.finish();
+                }
+                subscribers.clear();
+                process = null;
+            }
+        }
+    }
+
+    /**
+     * Reads whole TS packets so a chunk that is dropped for a slow conversion does not break the following packets.
+     */
+    private int readPackets(InputStream inputStream, byte[] chunk) throws IOException {
+        int length = 0;
+        do {
+            int read = inputStream.read(chunk, length, chunk.length - length);
+            if (read < 0) {
+                return length - length % TS_PACKET_SIZE;
+            }
+            length += read;
+        } while (length % TS_PACKET_SIZE != 0);
+        return length;
+    }
+
+    /**
+     * A FFmpeg conversion that gets the stream of the camera.
+     */
+    public class Subscriber {
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+        private final OutputStream stdin;
+        private @Nullable Thread writerThread;
+        private volatile boolean closed = false;
+        private volatile boolean finished = false;
+        private int droppedChunks = 0;
+
+        private Subscriber(OutputStream stdin) {
+            this.stdin = stdin;
+        }
+
+        private void start() {
+            ffmpegPool.execute(this::writeStream);
+        }
+
+        private void offer(byte[] packets) {
+            if (!queue.offer(packets) && droppedChunks++ % QUEUED_CHUNKS == 0) {
+                logger.debug("A FFmpeg conversion is too slow for the camera stream, {} chunks were dropped.",
+                        droppedChunks);
+            }
+        }
+
+        private void writeStream() {
+            synchronized (this) {
+                writerThread = Thread.currentThread();
+            }
+            try {
+                while (!closed && !(finished && queue.isEmpty())) {
+                    stdin.write(queue.take());
+                    stdin.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+            } finally {
+                synchronized (this) {
+                    closed = true;
+                    writerThread = null;
+                }
+                // Only this thread uses stdin, so the conversion gets the end of the stream from here.
+                try {
+                    stdin.close();
+                } catch (IOException e) {
+                }
+                unsubscribe(this);
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            // wakes up the writer, if the queue is full it finishes after writing it
+            queue.offer(new byte[0]);
+        }
+
+        public synchronized void close() {
+            closed = true;
+            Thread localWriterThread = writerThread;
+            if (localWriterThread != null) {
+                localWriterThread.interrupt();
+            }
+        }
+    }
+}
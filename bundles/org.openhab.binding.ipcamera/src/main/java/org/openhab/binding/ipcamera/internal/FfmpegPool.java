@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link FfmpegPool} is shared by all cameras and holds the binding wide FFmpeg settings. It limits how many
+ * FFmpeg conversions can run at the same time, the shared inputs run on the slots of the conversions using them. A
+ * conversion that is started when the limit is reached waits until another one has finished, or gives up after a
+ * timeout. The pool also runs the threads that feed the shared inputs to the conversions.
+ *
+ *
+ * @author agent - Initial contribution
+ */
+
+@NonNullByDefault
+public class FfmpegPool {
+    public static final int DEFAULT_MAX_PROCESSES = 0;
+    public static final long ACQUIRE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ipcamera-ffmpeg-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int maxProcesses = DEFAULT_MAX_PROCESSES;
+    private boolean shareRtspInput = false;
+    private int runningProcesses = 0;
+
+    public synchronized void update(Map<String, Object> config) {
+        Object max = config.get("maxFfmpegProcesses");
+        maxProcesses = DEFAULT_MAX_PROCESSES;
+        if (max != null) {
+            try {
+                maxProcesses = Integer.parseInt(max.toString());
+            } catch (NumberFormatException e) {
+                logger.warn("maxFfmpegProcesses '{}' is not a number, using the default of {}.", max,
+                        DEFAULT_MAX_PROCESSES);
+            }
+        }
+        Object share = config.get("shareRtspInput");
+        shareRtspInput = (share == null) ? false : Boolean.parseBoolean(share.toString());
+        logger.debug("FFmpeg is limited to {} processes (0 = no limit), cameras share their RTSP input:{}",
+                maxProcesses, shareRtspInput);
+        notifyAll();
+    }
+
+    public synchronized boolean getShareRtspInput() {
+        return shareRtspInput;
+    }
+
+    /**
+     * Blocks until the FFmpeg process may start or the timeout has passed. A successful acquire must be followed by
+     * a {@link #release()} once the process has ended.
+     *
+     * @param name describes the process in the log
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true if the process may start, false if the timeout has passed
+     * @throws InterruptedException when the process was stopped while it was waiting
+     */
+    public synchronized boolean acquire(String name, long timeout) throws InterruptedException {
+        if (maxProcesses > 0 && runningProcesses >= maxProcesses) {
+            logger.info("FFmpeg {} has to wait as {} FFmpeg processes are already running.", name, runningProcesses);
+            long deadline = System.currentTimeMillis() + timeout;
+            while (maxProcesses > 0 && runningProcesses >= maxProcesses) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.warn("FFmpeg {} did not start as {} FFmpeg processes are still running after {} ms.", name,
+                            runningProcesses, timeout);
+                    return false;
+                }
+                wait(remaining);
+            }
+        }
+        runningProcesses++;
+        return true;
+    }
+
+    public synchronized void release() {
+        runningProcesses--;
+        notifyAll();
+    }
+
+    /**
+     * Runs a task that blocks on the streams of a FFmpeg process.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link SnapshotRingBuffer} keeps the last snapshots for the GIF preroll. It has a fixed size and overwrites the
+ * oldest snapshot once it is full, so adding a snapshot does not allocate. It owns the snapshots it holds: a snapshot
+ * is released when it is overwritten or the buffer is closed. It is not thread safe.
+ *
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotRingBuffer implements AutoCloseable {
+    private final @Nullable ByteBuf[] snapshots;
+    private int oldest = 0;
+    private int size = 0;
+
+    public SnapshotRingBuffer(int capacity) {
+        snapshots = new ByteBuf[capacity];
+    }
+
+    public int capacity() {
+        return snapshots.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a snapshot and takes over its reference. The oldest snapshot is released if the buffer is full.
+     */
+    public void add(ByteBuf snapshot) {
+        if (snapshots.length == 0) {
+            snapshot.release();
+            return;
+        }
+        if (size < snapshots.length) {
+            snapshots[(oldest + size++) % snapshots.length] = snapshot;
+        } else {
+            ByteBuf evicted = snapshots[oldest];
+            snapshots[oldest] = snapshot;
+            oldest = (oldest + 1) % snapshots.length;
+            if (evicted != null) {
+                evicted.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot at the given position, 0 being the oldest one. The snapshot stays owned by this buffer.
+     */
+    public ByteBuf get(int index) {
+        ByteBuf snapshot = index < 0 || index >= size ? null : snapshots[(oldest + index) % snapshots.length];
+        if (snapshot == null) {
+            throw new IndexOutOfBoundsException("Index " + index + " with " + size + " snapshots stored");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Releases all snapshots. The buffer is empty afterwards and can be used again.
+     */
+    @Override
+    public void close() {
+        for (int index = 0; index < snapshots.length; index++) {
+            ByteBuf snapshot = snapshots[index];
+            if (snapshot != null) {
+                snapshots[index] = null;
+                snapshot.release();
+            }
+        }
+        oldest = 0;
+        size = 0;
+    }
+}
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -57,9 +58,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
     private boolean handlingSnapshotStream = false; // used to remove ctx from group when handler is removed.
-    private byte[] incomingJpeg = new byte[0];
+    private @Nullable CompositeByteBuf incomingJpeg;
     private String whiteList = "";
-    private int recievedBytes = 0;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -177,32 +177,33 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             }
             if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
-                int index = 0;
-                if (recievedBytes == 0) {
-                    incomingJpeg = new byte[content.content().capacity()];
-                } else {
-                    byte[] temp = incomingJpeg;
-                    incomingJpeg = new byte[recievedBytes + content.content().capacity()];
-
-                    for (; index < temp.length; index++) {
-                        incomingJpeg[index] = temp[index];
-                    }
+                CompositeByteBuf jpeg = incomingJpeg;
+                if (jpeg == null) {
+                    // The chunks are kept as they arrive instead of growing an array for each one.
+                    jpeg = incomingJpeg = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
                 }
-                for (int i = 0; i < content.content().capacity(); i++) {
-                    incomingJpeg[index++] = content.content().getByte(i);
-                }
-                recievedBytes = incomingJpeg.length;
+                jpeg.addComponent(true, content.content().retain());
                 if (content instanceof LastHttpContent) {
-                    if (updateSnapshot) {
-                        ipCameraHandler.processSnapshot(incomingJpeg);
-                    } else if (onvifEvent) {
-                        ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
-                    } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                    try {
+                        if (updateSnapshot) {
+                            byte[] snapshot = new byte[jpeg.readableBytes()];
+                            jpeg.readBytes(snapshot);
+                            ipCameraHandler.processSnapshot(snapshot);
+                        } else if (onvifEvent) {
+                            ipCameraHandler.onvifCamera.eventRecieved(jpeg.toString(StandardCharsets.UTF_8));
+                        } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
+                            if (jpeg.readableBytes() > 1000) {
+                                ByteBuf frame = ipCameraHandler.createMjpegFrame(jpeg);
+                                try {
+                                    ipCameraHandler.sendMjpegFrame(frame, ipCameraHandler.mjpegChannelGroup);
+                                } finally {
+                                    frame.release();
+                                }
+                            }
                         }
+                    } finally {
+                        releaseIncomingJpeg();
                     }
-                    recievedBytes = 0;
                 }
             }
         } finally {
@@ -214,7 +215,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         ipCameraHandler.lockCurrentSnapshot.lock();
         try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
+            // The stored snapshot is never modified, so it can be sent without a copy.
+            ByteBuf snapshotData = Unpooled.wrappedBuffer(ipCameraHandler.currentSnapshot);
             response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
             response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
             response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
@@ -289,6 +291,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
         if (ctx == null) {
             return;
         }
+        releaseIncomingJpeg();
         ctx.close();
         if (handlingMjpeg) {
             ipCameraHandler.setupMjpegStreaming(false, ctx);
@@ -297,4 +300,12 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             ipCameraHandler.setupSnapshotStreaming(false, ctx, false);
         }
     }
+
+    private void releaseIncomingJpeg() {
+        CompositeByteBuf jpeg = incomingJpeg;
+        if (jpeg != null) {
+            jpeg.release();
+            incomingJpeg = null;
+        }
+    }
 }
@@ -27,7 +27,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,6 +59,8 @@ import org.openhab.binding.ipcamera.internal.ChannelTracking;
 import org.openhab.binding.ipcamera.internal.DahuaHandler;
 import org.openhab.binding.ipcamera.internal.DoorBirdHandler;
 import org.openhab.binding.ipcamera.internal.Ffmpeg;
+import org.openhab.binding.ipcamera.internal.FfmpegIngest;
+import org.openhab.binding.ipcamera.internal.FfmpegPool;
 import org.openhab.binding.ipcamera.internal.FoscamHandler;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
@@ -69,6 +70,7 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotRingBuffer;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.slf4j.Logger;
@@ -77,6 +79,8 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -127,6 +131,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(4);
     private GroupTracker groupTracker;
+    private FfmpegPool ffmpegPool;
     public CameraConfig cameraConfig;
 
     // ChannelGroup is thread safe
@@ -140,6 +145,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public @Nullable Ffmpeg ffmpegRtspHelper = null;
     public @Nullable Ffmpeg ffmpegMjpeg = null;
     public @Nullable Ffmpeg ffmpegSnapshot = null;
+    private @Nullable FfmpegIngest ffmpegIngest = null;
     public boolean streamingAutoFps = false;
     public boolean motionDetected = false;
 
@@ -162,7 +168,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private int mp4RecordTime;
     private int gifRecordTime = 5;
     private int mp4Preroll;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
+    private SnapshotRingBuffer fifoSnapshotBuffer = new SnapshotRingBuffer(0);
     private int snapCount;
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
@@ -202,7 +208,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private class CommonCameraHandler extends ChannelDuplexHandler {
         private int bytesToRecieve = 0;
         private int bytesAlreadyRecieved = 0;
-        private byte[] incomingJpeg = new byte[0];
+        private @Nullable CompositeByteBuf incomingJpeg;
         private String incomingMessage = "";
         private String contentType = "empty";
         private Object reply = new Object();
@@ -256,11 +262,9 @@ public class IpCameraHandler extends BaseThingHandler {
                                     }
                                 }
                             } else if (contentType.contains("image/jp")) {
-                                if (bytesToRecieve == 0) {
-                                    bytesToRecieve = 768000; // 0.768 Mbyte when no Content-Length is sent
-                                    logger.debug("Camera has no Content-Length header, we have to guess how much RAM.");
-                                }
-                                incomingJpeg = new byte[bytesToRecieve];
+                                releaseIncomingJpeg();
+                                // The chunks are kept as they arrive, so no size needs to be known or guessed.
+                                incomingJpeg = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
                             }
                         }
                     }
@@ -273,12 +277,15 @@ public class IpCameraHandler extends BaseThingHandler {
                     } else {
                         HttpContent content = (HttpContent) msg;
                         // Found some cameras uses Content-Type: image/jpg instead of image/jpeg
-                        if (contentType.contains("image/jp")) {
-                            for (int i = 0; i < content.content().capacity(); i++) {
-                                incomingJpeg[bytesAlreadyRecieved++] = content.content().getByte(i);
-                            }
+                        CompositeByteBuf jpeg = incomingJpeg;
+                        if (contentType.contains("image/jp") && jpeg != null) {
+                            bytesAlreadyRecieved += content.content().readableBytes();
+                            jpeg.addComponent(true, content.content().retain());
                             if (content instanceof LastHttpContent) {
-                                processSnapshot(incomingJpeg);
+                                byte[] snapshot = new byte[jpeg.readableBytes()];
+                                jpeg.readBytes(snapshot);
+                                releaseIncomingJpeg();
+                                processSnapshot(snapshot);
                                 // testing next line and if works need to do a full cleanup of this function.
                                 closeConnection = true;
                                 if (closeConnection) {
@@ -342,6 +349,15 @@ public class IpCameraHandler extends BaseThingHandler {
 
         @Override
         public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+            releaseIncomingJpeg();
+        }
+
+        private void releaseIncomingJpeg() {
+            CompositeByteBuf jpeg = incomingJpeg;
+            if (jpeg != null) {
+                jpeg.release();
+                incomingJpeg = null;
+            }
         }
 
         @Override
@@ -392,7 +408,8 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
-    public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker) {
+    public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker,
+            FfmpegPool ffmpegPool) {
         super(thing);
         cameraConfig = getConfigAs(CameraConfig.class);
         if (ipAddress != null) {
@@ -401,6 +418,11 @@ public class IpCameraHandler extends BaseThingHandler {
             hostIp = Helper.getLocalIpAddress();
         }
         this.groupTracker = groupTracker;
+        this.ffmpegPool = ffmpegPool;
+    }
+
+    public FfmpegPool getFfmpegPool() {
+        return ffmpegPool;
     }
 
     private IpCameraHandler getHandle() {
@@ -620,25 +642,34 @@ public class IpCameraHandler extends BaseThingHandler {
         try {
             currentSnapshot = incommingSnapshot;
             if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
+                int fifoSize = cameraConfig.getGifPreroll() + gifRecordTime;
+                if (fifoSnapshotBuffer.capacity() != fifoSize) {
+                    fifoSnapshotBuffer.close();
+                    fifoSnapshotBuffer = new SnapshotRingBuffer(fifoSize);
                 }
+                fifoSnapshotBuffer.add(Unpooled.wrappedBuffer(incommingSnapshot));
             }
         } finally {
             lockCurrentSnapshot.unlock();
         }
 
-        if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
-        }
-        if (streamingAutoFps) {
-            if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-            } else if (updateAutoFps) {
-                // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-                updateAutoFps = false;
+        boolean sendAutoFps = streamingAutoFps && (motionDetected || updateAutoFps);
+        if (streamingSnapshotMjpeg || sendAutoFps) {
+            // The frame is built once and shared by all viewers of both streams.
+            ByteBuf frame = createMjpegFrame(Unpooled.wrappedBuffer(incommingSnapshot));
+            try {
+                if (streamingSnapshotMjpeg) {
+                    sendMjpegFrame(frame, snapshotMjpegChannelGroup);
+                }
+                if (sendAutoFps) {
+                    sendMjpegFrame(frame, autoSnapshotMjpegChannelGroup);
+                    if (!motionDetected) {
+                        // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
+                        updateAutoFps = false;
+                    }
+                }
+            } finally {
+                frame.release();
             }
         }
 
@@ -698,14 +729,20 @@ public class IpCameraHandler extends BaseThingHandler {
             sendMjpegFirstPacket(ctx);
             if (auto) {
                 autoSnapshotMjpegChannelGroup.add(ctx.channel());
+                ByteBuf frame;
                 lockCurrentSnapshot.lock();
                 try {
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
-                    // iOS uses a FIFO? and needs two frames to display a pic
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    frame = createMjpegFrame(Unpooled.wrappedBuffer(currentSnapshot));
                 } finally {
                     lockCurrentSnapshot.unlock();
                 }
+                try {
+                    sendMjpegFrame(frame, autoSnapshotMjpegChannelGroup);
+                    // iOS uses a FIFO? and needs two frames to display a pic
+                    sendMjpegFrame(frame, autoSnapshotMjpegChannelGroup);
+                } finally {
+                    frame.release();
+                }
                 streamingAutoFps = true;
             } else {
                 snapshotMjpegChannelGroup.add(ctx.channel());
@@ -829,17 +866,34 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
-    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+    /**
+     * Copies the jpg once into a pooled direct buffer together with the multipart header and footer. Every viewer gets
+     * a duplicate of this buffer, so neither a copy per viewer nor a heap copy for the socket is needed. The caller
+     * has to release the returned frame.
+     */
+    public ByteBuf createMjpegFrame(ByteBuf jpg) {
         final String BOUNDARY = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
+        int length = jpg.readableBytes();
         String header = "--" + BOUNDARY + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
                 + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer(header.length() + length + 2);
+        frame.writeCharSequence(header, StandardCharsets.US_ASCII);
+        frame.writeBytes(jpg, jpg.readerIndex(), length);
+        frame.writeByte('\r').writeByte('\n');
+        return frame;
+    }
+
+    public void sendMjpegFrame(ByteBuf frame, ChannelGroup channelGroup) {
+        streamToGroup(frame.retainedDuplicate(), channelGroup, true);
+    }
+
+    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+        ByteBuf frame = createMjpegFrame(Unpooled.wrappedBuffer(jpg));
+        try {
+            sendMjpegFrame(frame, channelGroup);
+        } finally {
+            frame.release();
+        }
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -854,12 +908,13 @@ public class IpCameraHandler extends BaseThingHandler {
         // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
         lockCurrentSnapshot.lock();
         try {
-            for (byte[] foo : fifoSnapshotBuffer) {
+            for (int index = 0; index < fifoSnapshotBuffer.size(); index++) {
+                ByteBuf foo = fifoSnapshotBuffer.get(index);
                 File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
                 count++;
                 try {
                     OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
+                    foo.getBytes(foo.readerIndex(), fos, foo.readableBytes());
                     fos.close();
                 } catch (FileNotFoundException e) {
                     logger.warn("FileNotFoundException {}", e.getMessage());
@@ -894,21 +949,29 @@ public class IpCameraHandler extends BaseThingHandler {
             }
         }
 
+        String cameraInputOptions = inputOptions;
+        FfmpegIngest ingest = null;
+        if (ffmpegPool.getShareRtspInput() && rtspUri.toLowerCase().contains("rtsp")) {
+            ingest = ffmpegIngest;
+            if (ingest == null) {
+                ingest = ffmpegIngest = new FfmpegIngest(ffmpegPool, cameraConfig.getFfmpegLocation(),
+                        cameraInputOptions, rtspUri, cameraConfig.getUser(), cameraConfig.getPassword());
+            }
+            // The shared input already reads the camera with these options.
+            inputOptions = "";
+        }
+
         // Make sure the folder exists, if not create it.
         new File(cameraConfig.getFfmpegOutput()).mkdirs();
         switch (format) {
             case HLS:
                 if (ffmpegHLS == null) {
                     if (!inputOptions.isEmpty()) {
-                        ffmpegHLS = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
-                                "-hide_banner -loglevel warning " + inputOptions, rtspUri,
-                                cameraConfig.getHlsOutOptions(), cameraConfig.getFfmpegOutput() + "ipcamera.m3u8",
-                                cameraConfig.getUser(), cameraConfig.getPassword());
+                        ffmpegHLS = createFfmpeg(ingest, format, "-hide_banner -loglevel warning " + inputOptions,
+                                cameraConfig.getHlsOutOptions(), cameraConfig.getFfmpegOutput() + "ipcamera.m3u8");
                     } else {
-                        ffmpegHLS = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
-                                "-hide_banner -loglevel warning", rtspUri, cameraConfig.getHlsOutOptions(),
-                                cameraConfig.getFfmpegOutput() + "ipcamera.m3u8", cameraConfig.getUser(),
-                                cameraConfig.getPassword());
+                        ffmpegHLS = createFfmpeg(ingest, format, "-hide_banner -loglevel warning",
+                                cameraConfig.getHlsOutOptions(), cameraConfig.getFfmpegOutput() + "ipcamera.m3u8");
                     }
                 }
                 if (ffmpegHLS != null) {
@@ -929,9 +992,8 @@ public class IpCameraHandler extends BaseThingHandler {
                     } else {
                         inputOptions = "-y -t " + gifRecordTime + " -hide_banner -loglevel warning";
                     }
-                    ffmpegGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri,
-                            cameraConfig.getGifOutOptions(), cameraConfig.getFfmpegOutput() + gifFilename + ".gif",
-                            cameraConfig.getUser(), cameraConfig.getPassword());
+                    ffmpegGIF = createFfmpeg(ingest, format, inputOptions, cameraConfig.getGifOutOptions(),
+                            cameraConfig.getFfmpegOutput() + gifFilename + ".gif");
                 }
                 if (cameraConfig.getGifPreroll() > 0) {
                     storeSnapshots();
@@ -956,9 +1018,8 @@ public class IpCameraHandler extends BaseThingHandler {
                 } else {
                     inputOptions = "-y -t " + mp4RecordTime + " -hide_banner -loglevel warning";
                 }
-                ffmpegRecord = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri,
-                        cameraConfig.getMp4OutOptions(), cameraConfig.getFfmpegOutput() + mp4Filename + ".mp4",
-                        cameraConfig.getUser(), cameraConfig.getPassword());
+                ffmpegRecord = createFfmpeg(ingest, format, inputOptions, cameraConfig.getMp4OutOptions(),
+                        cameraConfig.getFfmpegOutput() + mp4Filename + ".mp4");
                 if (mp4Preroll > 0) {
                     // fetchFromHLS(); todo: not done yet
                 }
@@ -1000,9 +1061,14 @@ public class IpCameraHandler extends BaseThingHandler {
                 if (!cameraConfig.getUser().isEmpty()) {
                     filterOptions += " ";// add space as the Framework does not allow spaces at start of config.
                 }
-                ffmpegRtspHelper = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, input,
-                        filterOptions + cameraConfig.getMotionOptions(), OutputOptions, cameraConfig.getUser(),
-                        cameraConfig.getPassword());
+                if (input.equals(rtspUri)) {
+                    ffmpegRtspHelper = createFfmpeg(ingest, format, inputOptions,
+                            filterOptions + cameraConfig.getMotionOptions(), OutputOptions);
+                } else {
+                    ffmpegRtspHelper = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), cameraInputOptions,
+                            input, filterOptions + cameraConfig.getMotionOptions(), OutputOptions,
+                            cameraConfig.getUser(), cameraConfig.getPassword());
+                }
                 ffmpegRtspHelper.startConverting();
                 break;
             case MJPEG:
@@ -1012,10 +1078,8 @@ public class IpCameraHandler extends BaseThingHandler {
                     } else {
                         inputOptions = inputOptions + " -hide_banner -loglevel warning";
                     }
-                    ffmpegMjpeg = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri,
-                            cameraConfig.getMjpegOptions(),
-                            "http://127.0.0.1:" + cameraConfig.getServerPort() + "/ipcamera.jpg",
-                            cameraConfig.getUser(), cameraConfig.getPassword());
+                    ffmpegMjpeg = createFfmpeg(ingest, format, inputOptions, cameraConfig.getMjpegOptions(),
+                            "http://127.0.0.1:" + cameraConfig.getServerPort() + "/ipcamera.jpg");
                 }
                 if (ffmpegMjpeg != null) {
                     ffmpegMjpeg.startConverting();
@@ -1030,10 +1094,8 @@ public class IpCameraHandler extends BaseThingHandler {
                     } else {
                         inputOptions = inputOptions + " -threads 1 -skip_frame nokey -hide_banner -loglevel warning";
                     }
-                    ffmpegSnapshot = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri,
-                            "-an -vsync vfr -update 1",
-                            "http://127.0.0.1:" + cameraConfig.getServerPort() + "/snapshot.jpg",
-                            cameraConfig.getUser(), cameraConfig.getPassword());
+                    ffmpegSnapshot = createFfmpeg(ingest, format, inputOptions, "-an -vsync vfr -update 1",
+                            "http://127.0.0.1:" + cameraConfig.getServerPort() + "/snapshot.jpg");
                 }
                 if (ffmpegSnapshot != null) {
                     ffmpegSnapshot.startConverting();
@@ -1042,6 +1104,16 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
+    private Ffmpeg createFfmpeg(@Nullable FfmpegIngest ingest, FFmpegFormat format, String inputOptions,
+            String outArguments, String output) {
+        if (ingest != null) {
+            return new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, ingest, outArguments,
+                    output);
+        }
+        return new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri, outArguments, output,
+                cameraConfig.getUser(), cameraConfig.getPassword());
+    }
+
     public void noMotionDetected(String thisAlarmsChannel) {
         setChannelState(thisAlarmsChannel, OnOffType.OFF);
         firstMotionAlarm = false;
@@ -1737,7 +1809,17 @@ public class IpCameraHandler extends BaseThingHandler {
             ffmpegSnapshot.stopConverting();
             ffmpegSnapshot = null;
         }
+        if (ffmpegIngest != null) {
+            ffmpegIngest.stop();
+            ffmpegIngest = null;
+        }
         channelTrackingMap.clear();
+        lockCurrentSnapshot.lock();
+        try {
+            fifoSnapshotBuffer.close();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
     }
 
     public void setStreamServerHandler(StreamServerHandler streamServerHandler2) {
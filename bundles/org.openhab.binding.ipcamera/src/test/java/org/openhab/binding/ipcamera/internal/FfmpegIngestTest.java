@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link FfmpegIngest} with a shell script standing in for FFmpeg, which writes 200 TS packets and exits.
+ *
+ * @author agent - Initial contribution
+ */
+public class FfmpegIngestTest {
+
+    private static final int STREAM_SIZE = 200 * 188;
+
+    private final FfmpegPool pool = new FfmpegPool();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private File ffmpeg;
+
+    /**
+     * The stdin of a conversion
+     */
+    private static class Stdin extends ByteArrayOutputStream {
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        ffmpeg = File.createTempFile("ffmpeg", ".sh");
+        String script = "#!/bin/sh\nhead -c " + STREAM_SIZE + " /dev/zero\n";
+        Files.write(ffmpeg.toPath(), script.getBytes(StandardCharsets.UTF_8));
+        ffmpeg.setExecutable(true);
+        pool.update(Collections.singletonMap("maxFfmpegProcesses", 1));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.shutdown();
+        ffmpeg.delete();
+    }
+
+    private FfmpegIngest ingest() {
+        return new FfmpegIngest(pool, ffmpeg.getAbsolutePath(), "", "rtsp://camera/stream", "", "");
+    }
+
+    @Test
+    public void testInputEnds() throws Exception {
+        Stdin stdin = new Stdin();
+        ingest().subscribe(stdin);
+
+        assertTrue(stdin.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(STREAM_SIZE, stdin.size());
+    }
+
+    @Test
+    public void testInputDoesNotCountTowardsTheLimit() throws Exception {
+        // the only process slot is held by the conversion using the input
+        assertTrue(pool.acquire("conversion", 0));
+        Stdin stdin = new Stdin();
+        FfmpegIngest ingest = ingest();
+
+        Future<?> subscribe = executor.submit(() -> ingest.subscribe(stdin));
+        subscribe.get(5, TimeUnit.SECONDS);
+
+        assertTrue(stdin.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(STREAM_SIZE, stdin.size());
+        pool.release();
+    }
+
+    @Test
+    public void testClosedSubscriberStopsInput() throws Exception {
+        Files.write(ffmpeg.toPath(), "#!/bin/sh\nexec cat /dev/zero\n".getBytes(StandardCharsets.UTF_8));
+        Stdin stdin = new Stdin();
+        FfmpegIngest.Subscriber subscriber = ingest().subscribe(stdin);
+
+        subscriber.close();
+
+        // the input was stopped with its last subscriber
+        assertTrue(stdin.closed.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link FfmpegPool}.
+ *
+ * @author agent - Initial contribution
+ */
+public class FfmpegPoolTest {
+
+    private final FfmpegPool pool = new FfmpegPool();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.shutdown();
+    }
+
+    private void setMaxProcesses(Object maxProcesses) {
+        pool.update(Collections.singletonMap("maxFfmpegProcesses", maxProcesses));
+    }
+
+    @Test
+    public void testLimitIsEnforced() throws Exception {
+        setMaxProcesses("2");
+
+        assertTrue(pool.acquire("first", 0));
+        assertTrue(pool.acquire("second", 0));
+        assertFalse(pool.acquire("third", 100));
+
+        pool.release();
+        assertTrue(pool.acquire("third", 0));
+    }
+
+    @Test
+    public void testWaitingAcquireStartsAfterRelease() throws Exception {
+        setMaxProcesses(1);
+        assertTrue(pool.acquire("first", 0));
+
+        Future<Boolean> second = executor.submit(() -> pool.acquire("second", 5000));
+        Thread.sleep(200);
+        assertFalse(second.isDone());
+
+        pool.release();
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRaisedLimitStartsWaitingAcquire() throws Exception {
+        setMaxProcesses(1);
+        assertTrue(pool.acquire("first", 0));
+
+        Future<Boolean> second = executor.submit(() -> pool.acquire("second", 5000));
+        Thread.sleep(200);
+        setMaxProcesses(2);
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStoppedWhileWaiting() throws Exception {
+        setMaxProcesses(1);
+        assertTrue(pool.acquire("first", 0));
+
+        Future<Boolean> second = executor.submit(() -> pool.acquire("second", 5000));
+        Thread.sleep(200);
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(second.isDone());
+
+        // the interrupted acquire did not take a slot
+        pool.release();
+        assertTrue(pool.acquire("third", 0));
+    }
+
+    @Test
+    public void testInvalidLimitFallsBackToDefault() throws Exception {
+        setMaxProcesses(1);
+        setMaxProcesses("many");
+
+        // the default is no limit
+        for (int i = 0; i < 10; i++) {
+            assertTrue(pool.acquire("process " + i, 0));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests cases for {@link SnapshotRingBuffer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SnapshotRingBufferTest {
+
+    private final List<ByteBuf> snapshots = new ArrayList<>();
+
+    private ByteBuf snapshot(int number) {
+        ByteBuf snapshot = Unpooled.buffer(1).writeByte(number);
+        snapshots.add(snapshot);
+        return snapshot;
+    }
+
+    private static List<Integer> contents(SnapshotRingBuffer buffer) {
+        List<Integer> contents = new ArrayList<>();
+        for (int index = 0; index < buffer.size(); index++) {
+            contents.add((int) buffer.get(index).getByte(0));
+        }
+        return contents;
+    }
+
+    @Test
+    public void testSnapshotsAreOrderedOldestFirst() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(3);
+        buffer.add(snapshot(1));
+        buffer.add(snapshot(2));
+
+        assertEquals(3, buffer.capacity());
+        assertEquals(2, buffer.size());
+        assertEquals(Arrays.asList(1, 2), contents(buffer));
+    }
+
+    @Test
+    public void testWrapAroundOverwritesOldest() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(3);
+        for (int number = 1; number <= 7; number++) {
+            buffer.add(snapshot(number));
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(Arrays.asList(5, 6, 7), contents(buffer));
+    }
+
+    @Test
+    public void testEvictedSnapshotsAreReleased() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(2);
+        for (int number = 1; number <= 5; number++) {
+            buffer.add(snapshot(number));
+        }
+
+        for (int number = 1; number <= 3; number++) {
+            assertEquals(0, snapshots.get(number - 1).refCnt());
+        }
+        assertEquals(1, snapshots.get(3).refCnt());
+        assertEquals(1, snapshots.get(4).refCnt());
+    }
+
+    @Test
+    public void testCloseReleasesAllSnapshots() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(3);
+        for (int number = 1; number <= 4; number++) {
+            buffer.add(snapshot(number));
+        }
+
+        buffer.close();
+
+        assertEquals(0, buffer.size());
+        for (ByteBuf snapshot : snapshots) {
+            assertEquals(0, snapshot.refCnt());
+        }
+
+        // The buffer can be used again, and closed again without releasing twice
+        buffer.add(snapshot(5));
+        assertEquals(Arrays.asList(5), contents(buffer));
+        buffer.close();
+        buffer.close();
+        assertEquals(0, snapshots.get(4).refCnt());
+    }
+
+    @Test
+    public void testZeroCapacityReleasesSnapshot() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(0);
+        buffer.add(snapshot(1));
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, snapshots.get(0).refCnt());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBeyondSize() {
+        SnapshotRingBuffer buffer = new SnapshotRingBuffer(3);
+        buffer.add(snapshot(1));
+        buffer.get(1);
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Decides which group address is read next from the KNX bus, and when.
+ *
+ * <ul>
+ * <li>Pending reads are indexed by group address in the order they were queued, a group address is queued at most
+ * once.</li>
+ * <li>Group addresses no value has been seen for yet are read before refreshes of known values.</li>
+ * <li>A pending read is dropped when a value for its group address is seen on the bus anyway.</li>
+ * <li>All telegrams seen on the bus within the last second, including the read requests sent, count against the
+ * maximum telegram rate. No read request is sent while it is reached, except for one read request per second, so
+ * the reads make progress on a bus that is busy with the traffic of other devices.</li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadRequestScheduler {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    /** Weight of the latest interval in the average interval between two read requests, in percent */
+    private static final int AVERAGE_WEIGHT = 10;
+
+    /** Pending reads of group addresses without a value seen yet */
+    private final Map<GroupAddress, ReadDatapoint> unknownReads = new LinkedHashMap<>();
+    /** Pending reads of group addresses with a value seen before */
+    private final Map<GroupAddress, ReadDatapoint> knownReads = new LinkedHashMap<>();
+    private final Set<GroupAddress> addressesWithValue = new HashSet<>();
+
+    /** Times of the latest telegrams on the bus, a ring buffer holding one second at the maximum rate */
+    private final long[] telegramTimes;
+    private int telegramCount;
+    private int nextTelegram;
+
+    private final long readingPause;
+    private long averageInterval;
+    private long lastRead;
+    private boolean readSent;
+    private boolean backlog;
+
+    /**
+     * @param maxTelegramRate the maximum number of telegrams per second on the bus, 0 for no limit
+     * @param readingPause the pause between two read requests in milliseconds, as configured
+     */
+    ReadRequestScheduler(int maxTelegramRate, int readingPause) {
+        this.telegramTimes = new long[Math.max(0, maxTelegramRate)];
+        this.readingPause = TimeUnit.MILLISECONDS.toNanos(readingPause);
+    }
+
+    /**
+     * Queues a read request, unless one for the same group address is pending.
+     *
+     * @param datapoint the datapoint to read
+     * @return true if the datapoint was queued
+     */
+    synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (unknownReads.containsKey(address) || knownReads.containsKey(address)) {
+            return false;
+        }
+        (addressesWithValue.contains(address) ? knownReads : unknownReads).put(address, datapoint);
+        return true;
+    }
+
+    /**
+     * Takes the next read request to send, if the bus load allows sending it now.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the datapoint to read or null if nothing is to be read or the maximum telegram rate is reached
+     */
+    synchronized @Nullable ReadDatapoint next(long now) {
+        if (size() == 0 || !isBelowMaxTelegramRate(now)) {
+            return null;
+        }
+        ReadDatapoint datapoint = poll(unknownReads.isEmpty() ? knownReads : unknownReads);
+        recordTelegram(now);
+        if (backlog) {
+            long interval = now - lastRead;
+            averageInterval = averageInterval == 0 ? interval
+                    : (averageInterval * (100 - AVERAGE_WEIGHT) + interval * AVERAGE_WEIGHT) / 100;
+        }
+        lastRead = now;
+        readSent = true;
+        backlog = size() > 0;
+        return datapoint;
+    }
+
+    private ReadDatapoint poll(Map<GroupAddress, ReadDatapoint> reads) {
+        Iterator<ReadDatapoint> iterator = reads.values().iterator();
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+
+    /**
+     * Records a telegram seen on the bus.
+     *
+     * @param destination the group address of the telegram
+     * @param withValue true for group writes and read responses, which carry the value of the group address
+     * @param now the current {@link System#nanoTime()}
+     */
+    synchronized void telegramReceived(GroupAddress destination, boolean withValue, long now) {
+        recordTelegram(now);
+        if (withValue) {
+            addressesWithValue.add(destination);
+            unknownReads.remove(destination);
+            knownReads.remove(destination);
+        }
+    }
+
+    private boolean isBelowMaxTelegramRate(long now) {
+        return telegramCount < telegramTimes.length || telegramTimes.length == 0
+                || now - telegramTimes[nextTelegram] >= WINDOW || !readSent || now - lastRead >= WINDOW;
+    }
+
+    private void recordTelegram(long now) {
+        if (telegramTimes.length == 0) {
+            return;
+        }
+        telegramTimes[nextTelegram] = now;
+        nextTelegram = (nextTelegram + 1) % telegramTimes.length;
+        if (telegramCount < telegramTimes.length) {
+            telegramCount++;
+        }
+    }
+
+    /**
+     * @return the number of pending read requests
+     */
+    synchronized int size() {
+        return unknownReads.size() + knownReads.size();
+    }
+
+    /**
+     * Estimates the time until all pending read requests are sent, based on the average interval between read requests
+     * so far.
+     *
+     * @return the estimated time in milliseconds
+     */
+    synchronized long getEstimatedMillis() {
+        long interval = averageInterval;
+        if (interval == 0) {
+            // a read request and its response are two telegrams
+            interval = telegramTimes.length == 0 ? readingPause
+                    : Math.max(readingPause, 2 * WINDOW / telegramTimes.length);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(interval * size());
+    }
+
+    /**
+     * Drops all pending read requests.
+     */
+    synchronized void clear() {
+        unknownReads.clear();
+        knownReads.clear();
+        backlog = false;
+    }
+}
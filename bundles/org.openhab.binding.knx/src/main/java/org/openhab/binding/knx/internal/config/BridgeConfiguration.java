@@ -23,10 +23,13 @@ import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
  *
  */
 public class BridgeConfiguration {
+    private static final int DEFAULT_MAX_TELEGRAM_RATE = 20;
+
     private int autoReconnectPeriod;
     private BigDecimal readingPause;
     private BigDecimal readRetriesLimit;
     private BigDecimal responseTimeout;
+    private BigDecimal maxTelegramRate;
 
     public int getAutoReconnectPeriod() {
         return autoReconnectPeriod;
@@ -44,6 +47,10 @@ public class BridgeConfiguration {
         return responseTimeout;
     }
 
+    public int getMaxTelegramRate() {
+        return maxTelegramRate == null ? DEFAULT_MAX_TELEGRAM_RATE : maxTelegramRate.intValue();
+    }
+
     public void setAutoReconnectPeriod(int period) {
         autoReconnectPeriod = period;
     }
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadRequestSchedulerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static GroupAddress address(int index) {
+        return new GroupAddress(1, 1, index);
+    }
+
+    private static ReadDatapoint datapoint(int index) {
+        return new ReadDatapoint(new CommandDP(address(index), "test", 0, "1.001"), 3);
+    }
+
+    private static @Nullable GroupAddress addressOf(@Nullable ReadDatapoint datapoint) {
+        return datapoint == null ? null : datapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testReadsAreQueuedOncePerGroupAddress() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(0, 50);
+
+        assertTrue(scheduler.add(datapoint(1)));
+        assertTrue(scheduler.add(datapoint(2)));
+        assertFalse(scheduler.add(datapoint(1)));
+        assertEquals(2, scheduler.size());
+
+        assertEquals(address(1), addressOf(scheduler.next(0)));
+        assertTrue(scheduler.add(datapoint(1)));
+        assertEquals(address(2), addressOf(scheduler.next(0)));
+        assertEquals(address(1), addressOf(scheduler.next(0)));
+        assertNull(scheduler.next(0));
+    }
+
+    @Test
+    public void testUnknownGroupAddressesAreReadFirst() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(0, 50);
+        scheduler.telegramReceived(address(1), true, 0);
+        scheduler.telegramReceived(address(2), false, 0);
+
+        scheduler.add(datapoint(1));
+        scheduler.add(datapoint(2));
+        scheduler.add(datapoint(3));
+
+        assertEquals(address(2), addressOf(scheduler.next(0)));
+        assertEquals(address(3), addressOf(scheduler.next(0)));
+        assertEquals(address(1), addressOf(scheduler.next(0)));
+    }
+
+    @Test
+    public void testPendingReadIsDroppedWhenValueIsSeen() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(0, 50);
+        scheduler.add(datapoint(1));
+        scheduler.add(datapoint(2));
+
+        scheduler.telegramReceived(address(1), true, 0);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(address(2), addressOf(scheduler.next(0)));
+        assertNull(scheduler.next(0));
+    }
+
+    @Test
+    public void testReadQueuedAgainAfterDropIsReadOnce() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(0, 50);
+        scheduler.add(datapoint(1));
+        scheduler.telegramReceived(address(1), true, 0);
+        scheduler.add(datapoint(2));
+        scheduler.add(datapoint(1));
+
+        assertEquals(2, scheduler.size());
+        assertEquals(address(2), addressOf(scheduler.next(0)));
+        assertEquals(address(1), addressOf(scheduler.next(0)));
+        assertNull(scheduler.next(0));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testMaxTelegramRate() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(4, 50);
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(i));
+        }
+        scheduler.telegramReceived(address(100), false, 0);
+        scheduler.telegramReceived(address(101), false, 100 * MILLIS);
+
+        assertNotNull(scheduler.next(200 * MILLIS));
+        assertNotNull(scheduler.next(300 * MILLIS));
+        // four telegrams within the last second
+        assertNull(scheduler.next(400 * MILLIS));
+        assertNull(scheduler.next(999 * MILLIS));
+        assertNotNull(scheduler.next(1000 * MILLIS));
+        assertNull(scheduler.next(1050 * MILLIS));
+        assertNotNull(scheduler.next(1100 * MILLIS));
+        assertEquals(6, scheduler.size());
+    }
+
+    @Test
+    public void testOneReadPerSecondOnBusyBus() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(4, 50);
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(i));
+        }
+        // other devices keep the bus above the maximum telegram rate
+        int reads = 0;
+        for (long now = 0; now < 3000 * MILLIS; now += 50 * MILLIS) {
+            scheduler.telegramReceived(address(100), false, now);
+            scheduler.telegramReceived(address(101), false, now);
+            if (scheduler.next(now) != null) {
+                reads++;
+            }
+        }
+
+        assertEquals(3, reads);
+        assertEquals(7, scheduler.size());
+    }
+
+    @Test
+    public void testEstimatedTime() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(10, 50);
+        for (int i = 0; i < 11; i++) {
+            scheduler.add(datapoint(i));
+        }
+        // two telegrams per read at 10 telegrams per second
+        assertEquals(2200, scheduler.getEstimatedMillis());
+
+        scheduler.next(0);
+        scheduler.next(300 * MILLIS);
+        assertEquals(9 * 300, scheduler.getEstimatedMillis());
+
+        scheduler.clear();
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.getEstimatedMillis());
+    }
+}
@@ -12,11 +12,18 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -29,4 +36,47 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    private static Type toType(KNXCoreTypeMapper mapper, String dpt, int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return mapper.toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), bytes);
+    }
+
+    @Test
+    public void testToType_booleans() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, toType(mapper, "1.001", 1));
+        assertEquals(OnOffType.OFF, toType(mapper, "1.001", 0));
+        assertEquals(OpenClosedType.OPEN, toType(mapper, "1.009", 1));
+        assertEquals(OpenClosedType.CLOSED, toType(mapper, "1.009", 0));
+    }
+
+    @Test
+    public void testToType_floats() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        // 2-octet float: 0x0c1a = 1050 * 2^1 * 0.01
+        assertEquals(21.0, ((DecimalType) toType(mapper, "9.001", 0x0c, 0x1a)).doubleValue(), 0.001);
+        assertEquals(-0.5, ((DecimalType) toType(mapper, "9.001", 0x87, 0xce)).doubleValue(), 0.001);
+        // 4-octet IEEE float 1.5
+        assertEquals(1.5, ((DecimalType) toType(mapper, "14.056", 0x3f, 0xc0, 0x00, 0x00)).doubleValue(), 0.001);
+    }
+
+    @Test
+    public void testToType_translatorIsReused() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(PercentType.HUNDRED, toType(mapper, "5.001", 0xff));
+        assertEquals(PercentType.ZERO, toType(mapper, "5.001", 0x00));
+        assertEquals(new DecimalType(42), toType(mapper, "7.001", 0x00, 0x2a));
+    }
+
+    @Test
+    public void testToType_invalidData() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertNull(toType(mapper, "9.001", 0x0c));
+        assertNull(toType(mapper, "14.056", 0x3f, 0xc0));
+        assertNull(toType(mapper, "999.001", 0x01));
+    }
 }
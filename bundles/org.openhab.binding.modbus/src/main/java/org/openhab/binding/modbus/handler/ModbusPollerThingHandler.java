@@ -15,6 +15,7 @@ package org.openhab.binding.modbus.handler;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -29,18 +30,22 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.modbus.internal.AdaptivePollInterval;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.io.transport.modbus.ModbusConstants;
 import org.openhab.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
 import org.openhab.io.transport.modbus.PollTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +54,8 @@ import org.slf4j.LoggerFactory;
  * The {@link ModbusPollerThingHandler} is responsible for polling Modbus slaves. Errors and data is delegated to
  * child thing handlers inheriting from {@link ModbusReadCallback} -- in practice: {@link ModbusDataThingHandler}.
  *
+ * Register data is decoded once for all child things using {@link RegisterDecodePlan}.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @NonNullByDefault
@@ -85,6 +92,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             }
             logger.debug("Thing {} received response {}", thing.getUID(), result);
             notifyChildren(result);
+            adaptPollInterval(result);
             if (result.failure != null) {
                 Exception error = result.failure.getCause();
                 assert error != null;
@@ -134,13 +142,44 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             AsyncModbusReadResult result = pollResult.result;
             @Nullable
             AsyncModbusFailure<ModbusReadRequestBlueprint> failure = pollResult.failure;
-            childCallbacks.forEach(handler -> {
-                if (result != null) {
-                    handler.onReadResult(result);
-                } else if (failure != null) {
-                    handler.handleReadError(failure);
-                }
-            });
+            if (result != null) {
+                getDecodePlan().execute(result);
+            } else if (failure != null) {
+                childCallbacks.forEach(handler -> handler.handleReadError(failure));
+            }
+        }
+
+        private void adaptPollInterval(PollResult pollResult) {
+            AdaptivePollInterval localAdaptiveInterval = adaptiveInterval;
+            AsyncModbusReadResult result = pollResult.result;
+            if (localAdaptiveInterval == null || result == null) {
+                return;
+            }
+            long dataHash;
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            if (registers.isPresent()) {
+                dataHash = AdaptivePollInterval.hash(registers.get());
+            } else if (bits.isPresent()) {
+                dataHash = AdaptivePollInterval.hash(bits.get());
+            } else {
+                return;
+            }
+            if (localAdaptiveInterval.update(dataHash)) {
+                logger.debug("Thing {} adjusting poll interval: {}", thing.getUID(), localAdaptiveInterval);
+                scheduler.execute(ModbusPollerThingHandler.this::reschedulePollTask);
+            }
+        }
+
+        private RegisterDecodePlan getDecodePlan() {
+            long version = decodePlanVersion.get();
+            RegisterDecodePlan plan = decodePlan;
+            if (plan == null || plan.getVersion() != version) {
+                plan = RegisterDecodePlan.create(version, childCallbacks);
+                logger.trace("Thing {} created new decode plan {}", thing.getUID(), plan);
+                decodePlan = plan;
+            }
+            return plan;
         }
 
         /**
@@ -191,6 +230,10 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
 
+    private final AtomicLong decodePlanVersion = new AtomicLong();
+    private volatile @Nullable AdaptivePollInterval adaptiveInterval;
+    private volatile @Nullable RegisterDecodePlan decodePlan;
+
     private @Nullable ModbusReadFunctionCode functionCode;
 
     public ModbusPollerThingHandler(Bridge bridge) {
@@ -239,6 +282,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         comms = null;
         request = null;
         disposed = false;
+        invalidateDecodePlan();
         logger.trace("Initializing {} from status {}", this.getThing().getUID(), this.getThing().getStatus());
         try {
             config = getConfigAs(ModbusPollerConfiguration.class);
@@ -271,6 +315,11 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                     break;
             }
             cacheMillis = this.config.getCacheMillis();
+            if (config.getRefresh() > 0L && config.getAdaptiveMaxRefresh() > config.getRefresh()) {
+                adaptiveInterval = new AdaptivePollInterval(config.getRefresh(), config.getAdaptiveMaxRefresh());
+            } else {
+                adaptiveInterval = null;
+            }
             registerPollTask();
         } catch (EndpointNotInitializedException e) {
             logger.debug("Exception during initialization", e);
@@ -356,13 +405,32 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
             logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
+            AdaptivePollInterval localAdaptiveInterval = adaptiveInterval;
+            long refresh = localAdaptiveInterval == null ? config.getRefresh()
+                    : localAdaptiveInterval.getIntervalMillis();
+            pollTask = localComms.registerRegularPoll(localRequest, refresh, 0, callbackDelegator, callbackDelegator);
             assert pollTask != null;
             updateStatus(ThingStatus.ONLINE);
         }
     }
 
+    /**
+     * Change the poll interval of the poll task to the current adaptive poll interval
+     */
+    private synchronized void reschedulePollTask() {
+        PollTask localPollTask = pollTask;
+        ModbusCommunicationInterface localComms = comms;
+        AdaptivePollInterval localAdaptiveInterval = adaptiveInterval;
+        if (disposed || localPollTask == null || localComms == null || localAdaptiveInterval == null) {
+            return;
+        }
+        long refresh = localAdaptiveInterval.getIntervalMillis();
+        logger.trace("Rescheduling poll task of thing {} with poll interval {} ms", thing.getUID(), refresh);
+        if (!localComms.changeRegularPollPeriod(localPollTask, refresh, refresh)) {
+            logger.debug("Could not change poll interval of thing {}, poll task is not registered", thing.getUID());
+        }
+    }
+
     private boolean hasConfigurationError() {
         ThingStatusInfo statusInfo = getThing().getStatusInfo();
         return statusInfo.getStatus() == ThingStatus.OFFLINE
@@ -380,6 +448,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
             this.childCallbacks.add((ModbusDataThingHandler) childHandler);
+            invalidateDecodePlan();
         }
     }
 
@@ -388,9 +457,19 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
             this.childCallbacks.remove(childHandler);
+            invalidateDecodePlan();
         }
     }
 
+    /**
+     * Invalidate the plan used to decode the polled data for the child things
+     *
+     * Should be called whenever the configuration of child things change. The plan is recreated on next poll.
+     */
+    public void invalidateDecodePlan() {
+        decodePlanVersion.incrementAndGet();
+    }
+
     /**
      * Return {@link ModbusReadRequestBlueprint} represented by this thing.
      *
@@ -411,6 +490,30 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         return comms;
     }
 
+    /**
+     * Poll new data after write by a child thing
+     *
+     * With adaptive polling, the poll interval is reset and data is polled immediately, ignoring any cached data.
+     * Otherwise, this is no-op.
+     */
+    public void refreshAfterWrite() {
+        AdaptivePollInterval localAdaptiveInterval = adaptiveInterval;
+        if (localAdaptiveInterval == null) {
+            return;
+        }
+        scheduler.execute(() -> {
+            if (localAdaptiveInterval.reset()) {
+                reschedulePollTask();
+            }
+            ModbusReadRequestBlueprint localRequest = this.request;
+            ModbusCommunicationInterface localComms = comms;
+            if (localRequest != null && localComms != null && !disposed) {
+                logger.debug("Poller {} polling new data after write", getThing().getUID());
+                localComms.submitOneTimePoll(localRequest, callbackDelegator, callbackDelegator);
+            }
+        });
+    }
+
     /**
      * Refresh the data
      *
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Poll interval adapting to the rate the polled data changes
+ *
+ * Every time the polled data stays unchanged, the interval is doubled, up to the maximum interval. As soon as the
+ * data changes, the interval is reset to the minimum interval.
+ *
+ * The data is compared using a hash of the raw data, see {@link #hash(ModbusRegisterArray)} and
+ * {@link #hash(BitArray)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollInterval {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    private long intervalMillis;
+    private boolean hasData;
+    private long lastDataHash;
+
+    /**
+     * @param minIntervalMillis interval used when data is changing
+     * @param maxIntervalMillis interval used when data has not changed in a while
+     * @throws IllegalArgumentException when minimum interval is not positive, or maximum interval is less than the
+     *             minimum
+     */
+    public AdaptivePollInterval(long minIntervalMillis, long maxIntervalMillis) {
+        if (minIntervalMillis <= 0 || maxIntervalMillis < minIntervalMillis) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid interval range [%d, %d]", minIntervalMillis, maxIntervalMillis));
+        }
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxIntervalMillis = maxIntervalMillis;
+        this.intervalMillis = minIntervalMillis;
+    }
+
+    /**
+     * Update the interval based on new data
+     *
+     * @param dataHash hash of the polled data
+     * @return whether the interval changed
+     */
+    public synchronized boolean update(long dataHash) {
+        long previousIntervalMillis = intervalMillis;
+        if (hasData && dataHash == lastDataHash) {
+            intervalMillis = Math.min(maxIntervalMillis, intervalMillis * 2);
+        } else {
+            intervalMillis = minIntervalMillis;
+        }
+        hasData = true;
+        lastDataHash = dataHash;
+        return intervalMillis != previousIntervalMillis;
+    }
+
+    /**
+     * Reset the interval to minimum, and forget the previous data
+     *
+     * @return whether the interval changed
+     */
+    public synchronized boolean reset() {
+        long previousIntervalMillis = intervalMillis;
+        intervalMillis = minIntervalMillis;
+        hasData = false;
+        return intervalMillis != previousIntervalMillis;
+    }
+
+    /**
+     * Get current poll interval
+     *
+     * @return poll interval in milliseconds
+     */
+    public synchronized long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Calculate hash of the raw register data
+     *
+     * @param registers registers to hash
+     * @return hash of the data
+     */
+    public static long hash(ModbusRegisterArray registers) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < registers.size(); i++) {
+            hash = (hash ^ registers.getRegister(i).toUnsignedShort()) * FNV_PRIME;
+        }
+        return (hash ^ registers.size()) * FNV_PRIME;
+    }
+
+    /**
+     * Calculate hash of the raw bit data
+     *
+     * @param bits bits to hash
+     * @return hash of the data
+     */
+    public static long hash(BitArray bits) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < bits.size(); i++) {
+            hash = (hash ^ (bits.getBit(i) ? 1 : 0)) * FNV_PRIME;
+        }
+        return (hash ^ bits.size()) * FNV_PRIME;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AdaptivePollInterval(min=%d, max=%d, current=%d)", minIntervalMillis, maxIntervalMillis,
+                intervalMillis);
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusNumber;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Precomputed plan for decoding register poll responses for all data things of a poller
+ *
+ * Data things reading the same item (same index and value type) are grouped together, and each item is decoded only
+ * once per poll response. Data things not reading registers receive the response as is.
+ *
+ * The plan is immutable once created, apart from the decoding buffers. Thus, {@link #execute(AsyncModbusReadResult)}
+ * must not be called concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterDecodePlan {
+
+    /**
+     * Item read by a data thing from the registers
+     */
+    public static class ReadItem {
+        private final int extractIndex;
+        private final ValueType valueType;
+
+        /**
+         * @param extractIndex index of the item, see
+         *            {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+         * @param valueType value type of the item
+         */
+        public ReadItem(int extractIndex, ValueType valueType) {
+            this.extractIndex = extractIndex;
+            this.valueType = valueType;
+        }
+
+        public int getExtractIndex() {
+            return extractIndex;
+        }
+
+        public ValueType getValueType() {
+            return valueType;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(73, 19).append(extractIndex).append(valueType).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            ReadItem rhs = (ReadItem) obj;
+            return new EqualsBuilder().append(extractIndex, rhs.extractIndex).append(valueType, rhs.valueType)
+                    .isEquals();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ReadItem(extractIndex=%d, valueType=%s)", extractIndex, valueType);
+        }
+    }
+
+    private static class Step {
+        private final ReadItem item;
+        private final List<ModbusDataThingHandler> handlers = new ArrayList<>();
+        private final ModbusNumber number = new ModbusNumber();
+
+        private Step(ReadItem item) {
+            this.item = item;
+        }
+    }
+
+    private final long version;
+    private final List<Step> steps;
+    private final List<ModbusDataThingHandler> undecodedHandlers;
+
+    private RegisterDecodePlan(long version, List<Step> steps, List<ModbusDataThingHandler> undecodedHandlers) {
+        this.version = version;
+        this.steps = steps;
+        this.undecodedHandlers = undecodedHandlers;
+    }
+
+    /**
+     * Create plan for the data things
+     *
+     * @param version version of the plan, allowing the owner to detect outdated plans
+     * @param handlers data thing handlers receiving the data
+     * @return new plan
+     */
+    public static RegisterDecodePlan create(long version, Collection<ModbusDataThingHandler> handlers) {
+        Map<ReadItem, Step> steps = new LinkedHashMap<>();
+        List<ModbusDataThingHandler> undecodedHandlers = new ArrayList<>();
+        for (ModbusDataThingHandler handler : handlers) {
+            Optional<ReadItem> item = handler.getRegisterReadItem();
+            if (item.isPresent()) {
+                steps.computeIfAbsent(item.get(), Step::new).handlers.add(handler);
+            } else {
+                undecodedHandlers.add(handler);
+            }
+        }
+        return new RegisterDecodePlan(version, new ArrayList<>(steps.values()), undecodedHandlers);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Decode the response and pass the data to the data things
+     *
+     * @param result poll response
+     */
+    public void execute(AsyncModbusReadResult result) {
+        Optional<ModbusRegisterArray> registers = result.getRegisters();
+        if (!registers.isPresent()) {
+            steps.forEach(step -> step.handlers.forEach(handler -> handler.onReadResult(result)));
+            undecodedHandlers.forEach(handler -> handler.onReadResult(result));
+            return;
+        }
+        for (Step step : steps) {
+            boolean extracted;
+            try {
+                extracted = ModbusBitUtilities.extractNumberFromRegisters(registers.get(),
+                        step.item.getExtractIndex(), step.item.getValueType(), step.number);
+            } catch (IllegalArgumentException e) {
+                // Response does not cover the item, let the handlers deal with it
+                step.handlers.forEach(handler -> handler.onReadResult(result));
+                continue;
+            }
+            for (ModbusDataThingHandler handler : step.handlers) {
+                handler.onDecodedRegisters(result.getRequest(), registers.get(), step.item, extracted, step.number);
+            }
+        }
+        undecodedHandlers.forEach(handler -> handler.onReadResult(result));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegisterDecodePlan(version=%d, items=%d, undecodedHandlers=%d)", version, steps.size(),
+                undecodedHandlers.size());
+    }
+}
@@ -29,6 +29,7 @@ public class ModbusPollerConfiguration {
     private @Nullable String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private long adaptiveMaxRefresh;
 
     /**
      * Gets refresh period in milliseconds
@@ -115,4 +116,21 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets maximum poll interval with adaptive polling, in milliseconds
+     *
+     * Adaptive polling is enabled when this is greater than refresh. Poll interval is then adjusted between refresh
+     * and this value, depending on how often the polled data changes.
+     */
+    public long getAdaptiveMaxRefresh() {
+        return adaptiveMaxRefresh;
+    }
+
+    /**
+     * Sets maximum poll interval with adaptive polling, in milliseconds
+     */
+    public void setAdaptiveMaxRefresh(long adaptiveMaxRefresh) {
+        this.adaptiveMaxRefresh = adaptiveMaxRefresh;
+    }
 }
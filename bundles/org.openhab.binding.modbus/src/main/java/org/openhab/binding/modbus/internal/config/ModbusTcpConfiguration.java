@@ -32,6 +32,10 @@ public class ModbusTcpConfiguration {
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean coalescePolls;
+    private int coalescingMaxGap;
+    private int pipelineDepth;
+    private int pipelineTimeoutMillis;
 
     public @Nullable String getHost() {
         return host;
@@ -104,4 +108,36 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getCoalescingMaxGap() {
+        return coalescingMaxGap;
+    }
+
+    public void setCoalescingMaxGap(int coalescingMaxGap) {
+        this.coalescingMaxGap = coalescingMaxGap;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getPipelineTimeoutMillis() {
+        return pipelineTimeoutMillis;
+    }
+
+    public void setPipelineTimeoutMillis(int pipelineTimeoutMillis) {
+        this.pipelineTimeoutMillis = pipelineTimeoutMillis;
+    }
 }
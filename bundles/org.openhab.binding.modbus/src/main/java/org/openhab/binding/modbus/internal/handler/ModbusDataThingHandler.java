@@ -58,6 +58,7 @@ import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan.ReadItem;
 import org.openhab.binding.modbus.internal.Transformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
 import org.openhab.io.transport.modbus.AsyncModbusFailure;
@@ -68,6 +69,7 @@ import org.openhab.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.io.transport.modbus.ModbusConstants;
 import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusNumber;
 import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRegisterArray;
@@ -147,6 +149,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private final ModbusNumber extractedNumber = new ModbusNumber();
+    private final ModbusNumber lastExtractedNumber = new ModbusNumber();
+    private volatile @Nullable DecimalType lastNumericState;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -384,12 +389,20 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     e.getMessage());
             updateStatusIfChanged(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
         } finally {
+            ModbusPollerThingHandler localPollerHandler = pollerHandler;
+            if (localPollerHandler != null) {
+                localPollerHandler.invalidateDecodePlan();
+            }
             logger.trace("initialize() of thing {} '{}' finished", thing.getUID(), thing.getLabel());
         }
     }
 
     @Override
     public synchronized void dispose() {
+        ModbusPollerThingHandler localPollerHandler = pollerHandler;
+        if (localPollerHandler != null) {
+            localPollerHandler.invalidateDecodePlan();
+        }
         config = null;
         readValueType = null;
         writeValueType = null;
@@ -413,6 +426,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastNumericState = null;
     }
 
     @Override
@@ -670,18 +684,52 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         onError(failure.getRequest(), failure.getCause());
     }
 
-    private synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+    /**
+     * Handle register data decoded by the poller
+     *
+     * @param request request that was polled
+     * @param registers registers received
+     * @param item item that was decoded. Should match {@link #getRegisterReadItem()}, otherwise the registers are
+     *            decoded again.
+     * @param extracted whether number could be extracted, see
+     *            {@link ModbusBitUtilities#extractNumberFromRegisters}
+     * @param number number decoded from the registers
+     */
+    public synchronized void onDecodedRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers,
+            ReadItem item, boolean extracted, ModbusNumber number) {
         if (hasConfigurationError()) {
             return;
         } else if (!isReadEnabled) {
             return;
         }
-        ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
+        ReadItem localItem = getReadItem();
+        if (!item.equals(localItem)) {
+            // configuration changed after the poller decoded the data
+            onRegisters(request, registers);
             return;
         }
-        State numericState;
+        onNumber(request, registers, item, extracted, number);
+    }
+
+    /**
+     * Get the item this thing reads from the registers polled by the poller
+     *
+     * @return item, or empty in case this thing does not read registers
+     */
+    public synchronized Optional<ReadItem> getRegisterReadItem() {
+        ModbusReadFunctionCode functionCode = this.functionCode;
+        if (hasConfigurationError() || !isReadEnabled || functionCode == ModbusReadFunctionCode.READ_COILS
+                || functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getReadItem());
+    }
 
+    private synchronized @Nullable ReadItem getReadItem() {
+        ValueType readValueType = this.readValueType;
+        if (readValueType == null || !readIndex.isPresent()) {
+            return null;
+        }
         // extractIndex:
         // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
         // of register 10)
@@ -701,14 +749,54 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
-        boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        return new ReadItem(extractIndex, readValueType);
+    }
+
+    private synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        if (hasConfigurationError()) {
+            return;
+        } else if (!isReadEnabled) {
+            return;
+        }
+        ReadItem item = getReadItem();
+        if (item == null) {
+            return;
+        }
+        boolean extracted = ModbusBitUtilities.extractNumberFromRegisters(registers, item.getExtractIndex(),
+                item.getValueType(), extractedNumber);
+        onNumber(request, registers, item, extracted, extractedNumber);
+    }
+
+    private void onNumber(ModbusReadRequestBlueprint request, ModbusRegisterArray registers, ReadItem item,
+            boolean extracted, ModbusNumber number) {
+        State numericState;
+        boolean boolValue;
+        boolean valueChanged;
+        if (extracted) {
+            DecimalType lastNumericState = this.lastNumericState;
+            valueChanged = lastNumericState == null || !number.valueEquals(lastExtractedNumber);
+            if (lastNumericState != null && !valueChanged) {
+                // Value has not changed, avoid constructing new state
+                numericState = lastNumericState;
+            } else {
+                DecimalType decimalState = number.toDecimalType();
+                lastExtractedNumber.copyFrom(number);
+                this.lastNumericState = decimalState;
+                numericState = decimalState;
+            }
+            boolValue = !number.isZero();
+        } else {
+            // floating point NaN or infinity
+            valueChanged = lastNumericState != null;
+            lastNumericState = null;
+            numericState = UnDefType.UNDEF;
+            boolValue = true;
+        }
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, valueChanged);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+                thing.getUID(), values, item.getValueType(), readIndex, readSubIndex.orElse(0),
+                item.getExtractIndex(), numericState, boolValue, registers, request);
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -719,7 +807,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, true);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -805,6 +893,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         logger.debug("Successful write, matching request {}", result.getRequest());
         updateStatusIfChanged(ThingStatus.ONLINE);
+        ModbusPollerThingHandler localPollerHandler = pollerHandler;
+        if (localPollerHandler != null) {
+            localPollerHandler.refreshAfterWrite();
+        }
         ChannelUID lastWriteSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_WRITE_SUCCESS);
         if (isLinked(lastWriteSuccessUID)) {
             updateState(lastWriteSuccessUID, new DateTimeType());
@@ -816,9 +908,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
+     * @param valueChanged whether polled data has changed since last update. When false and the read transformation
+     *            is the identity transformation, channel states of the last update are reused instead of converting
+     *            the data again. Other transformations are always called, since their output might change even when
+     *            the input does not (e.g. edited transformation file, or transformation depending on time).
      * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue, boolean valueChanged) {
         Transformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
@@ -826,11 +922,18 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return Collections.emptyMap();
         }
         Map<ChannelUID, State> states = new HashMap<>();
+        Map<ChannelUID, State> lastStates = channelLastState;
+        boolean reuseLastStates = !valueChanged && localReadTransformation.isIdentityTransform();
         CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
             ChannelUID channelUID = getChannelUID(channelId);
             if (!isLinked(channelUID)) {
                 return;
             }
+            State lastState = lastStates.get(channelUID);
+            if (reuseLastStates && lastState != null) {
+                states.put(channelUID, lastState);
+                return;
+            }
             List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
             if (acceptedDataTypes.isEmpty()) {
                 return;
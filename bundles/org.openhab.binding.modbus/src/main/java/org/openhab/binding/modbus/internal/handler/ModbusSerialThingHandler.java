@@ -63,6 +63,8 @@ public class ModbusSerialThingHandler
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
+        poolConfiguration.setCoalescePolls(config.isCoalescePolls());
+        poolConfiguration.setCoalescingMaxGap(config.getCoalescingMaxGap());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
 
         // Never reconnect serial connections "automatically"
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class AdaptivePollIntervalTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRange() {
+        new AdaptivePollInterval(1000, 500);
+    }
+
+    @Test
+    public void testBackOffWhileUnchanged() {
+        AdaptivePollInterval interval = new AdaptivePollInterval(100, 500);
+        assertThat(interval.update(1), is(false));
+        assertThat(interval.getIntervalMillis(), is(equalTo(100L)));
+        assertThat(interval.update(1), is(true));
+        assertThat(interval.getIntervalMillis(), is(equalTo(200L)));
+        assertThat(interval.update(1), is(true));
+        assertThat(interval.getIntervalMillis(), is(equalTo(400L)));
+        assertThat(interval.update(1), is(true));
+        assertThat(interval.getIntervalMillis(), is(equalTo(500L)));
+        assertThat(interval.update(1), is(false));
+        assertThat(interval.getIntervalMillis(), is(equalTo(500L)));
+    }
+
+    @Test
+    public void testChangeResetsToMinimum() {
+        AdaptivePollInterval interval = new AdaptivePollInterval(100, 500);
+        interval.update(1);
+        interval.update(1);
+        assertThat(interval.getIntervalMillis(), is(equalTo(200L)));
+        assertThat(interval.update(2), is(true));
+        assertThat(interval.getIntervalMillis(), is(equalTo(100L)));
+    }
+
+    @Test
+    public void testReset() {
+        AdaptivePollInterval interval = new AdaptivePollInterval(100, 500);
+        interval.update(1);
+        interval.update(1);
+        assertThat(interval.reset(), is(true));
+        assertThat(interval.getIntervalMillis(), is(equalTo(100L)));
+        // previous data is forgotten, so interval stays at minimum
+        assertThat(interval.update(1), is(false));
+        assertThat(interval.getIntervalMillis(), is(equalTo(100L)));
+    }
+
+    @Test
+    public void testHash() {
+        assertThat(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2, 3)),
+                is(equalTo(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2, 3)))));
+        assertThat(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2, 3)),
+                is(not(equalTo(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2, 4))))));
+        assertThat(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2)),
+                is(not(equalTo(AdaptivePollInterval.hash(new ModbusRegisterArray(1, 2, 0))))));
+        assertThat(AdaptivePollInterval.hash(new BitArray(true, false)),
+                is(equalTo(AdaptivePollInterval.hash(new BitArray(true, false)))));
+        assertThat(AdaptivePollInterval.hash(new BitArray(true, false)),
+                is(not(equalTo(AdaptivePollInterval.hash(new BitArray(false, true))))));
+    }
+}
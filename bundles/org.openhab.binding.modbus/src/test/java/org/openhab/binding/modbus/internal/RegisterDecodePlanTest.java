@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.junit.Test;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan.ReadItem;
+import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusNumber;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class RegisterDecodePlanTest {
+
+    private static final ModbusRegisterArray REGISTERS = new ModbusRegisterArray(0x1234, 0xff56, 0x8000, 0x0001);
+    private static final ModbusReadRequestBlueprint REQUEST = new ModbusReadRequestBlueprint(1,
+            ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, REGISTERS.size(), 1);
+
+    /**
+     * States received by the handlers through {@link ModbusDataThingHandler#onDecodedRegisters}
+     */
+    private final Map<ModbusDataThingHandler, List<State>> decoded = new HashMap<>();
+
+    private ModbusDataThingHandler handler(Optional<ReadItem> item) {
+        ModbusDataThingHandler handler = mock(ModbusDataThingHandler.class);
+        doReturn(item).when(handler).getRegisterReadItem();
+        doAnswer(invocation -> {
+            boolean extracted = invocation.getArgument(3);
+            ModbusNumber number = invocation.getArgument(4);
+            decoded.computeIfAbsent(handler, h -> new ArrayList<>())
+                    .add(extracted ? number.toDecimalType() : UnDefType.UNDEF);
+            return null;
+        }).when(handler).onDecodedRegisters(any(), any(), any(), anyBoolean(), any());
+        return handler;
+    }
+
+    private ModbusDataThingHandler handler(int extractIndex, ValueType valueType) {
+        return handler(Optional.of(new ReadItem(extractIndex, valueType)));
+    }
+
+    private static State expected(int extractIndex, ValueType valueType) {
+        Optional<DecimalType> state = ModbusBitUtilities.extractStateFromRegisters(REGISTERS, extractIndex, valueType);
+        return state.isPresent() ? state.get() : UnDefType.UNDEF;
+    }
+
+    private static int itemCount(ValueType valueType) {
+        int bits = valueType.getBits();
+        // Items smaller than register are indexed by the item, others by the register
+        return bits < 16 ? REGISTERS.size() * 16 / bits : REGISTERS.size() - bits / 16 + 1;
+    }
+
+    @Test
+    public void testAllValueTypesAndIndices() {
+        Map<ModbusDataThingHandler, State> expectedStates = new HashMap<>();
+        for (ValueType valueType : ValueType.values()) {
+            for (int index = 0; index < itemCount(valueType); index++) {
+                expectedStates.put(handler(index, valueType), expected(index, valueType));
+            }
+        }
+        RegisterDecodePlan plan = RegisterDecodePlan.create(1, expectedStates.keySet());
+
+        plan.execute(new AsyncModbusReadResult(REQUEST, REGISTERS));
+
+        expectedStates.forEach((handler, state) -> {
+            assertThat(decoded.get(handler), is(equalTo(Arrays.asList(state))));
+            verify(handler, never()).onReadResult(any());
+        });
+    }
+
+    @Test
+    public void testMixedOffsetsSharingItems() {
+        ModbusDataThingHandler int16First = handler(1, ValueType.INT16);
+        ModbusDataThingHandler uint16 = handler(1, ValueType.UINT16);
+        ModbusDataThingHandler int16Second = handler(1, ValueType.INT16);
+        ModbusDataThingHandler float32 = handler(1, ValueType.FLOAT32);
+        ModbusDataThingHandler bit = handler(17, ValueType.BIT);
+        ModbusDataThingHandler int8 = handler(3, ValueType.INT8);
+        ModbusDataThingHandler uint32Swap = handler(2, ValueType.UINT32_SWAP);
+        RegisterDecodePlan plan = RegisterDecodePlan.create(1,
+                Arrays.asList(int16First, uint16, int16Second, float32, bit, int8, uint32Swap));
+        assertThat(plan.toString(), containsString("items=6"));
+
+        plan.execute(new AsyncModbusReadResult(REQUEST, REGISTERS));
+        plan.execute(new AsyncModbusReadResult(REQUEST, REGISTERS));
+
+        assertThat(decoded.get(int16First), is(equalTo(Arrays.asList(new DecimalType(-170), new DecimalType(-170)))));
+        assertThat(decoded.get(int16Second), is(equalTo(decoded.get(int16First))));
+        assertThat(decoded.get(uint16).get(0), is(equalTo(new DecimalType(0xff56))));
+        assertThat(decoded.get(float32).get(0), is(equalTo(expected(1, ValueType.FLOAT32))));
+        assertThat(decoded.get(bit).get(0), is(equalTo(new DecimalType(1))));
+        assertThat(decoded.get(int8).get(0), is(equalTo(new DecimalType(-1))));
+        assertThat(decoded.get(uint32Swap).get(0), is(equalTo(new DecimalType(0x00018000L))));
+    }
+
+    @Test
+    public void testHandlersWithoutItemReceiveResult() {
+        ModbusDataThingHandler coilReader = handler(Optional.empty());
+        ModbusDataThingHandler int16 = handler(0, ValueType.INT16);
+        RegisterDecodePlan plan = RegisterDecodePlan.create(1, Arrays.asList(coilReader, int16));
+        AsyncModbusReadResult result = new AsyncModbusReadResult(REQUEST, REGISTERS);
+
+        plan.execute(result);
+
+        verify(coilReader).onReadResult(result);
+        verify(coilReader, never()).onDecodedRegisters(any(), any(), any(), anyBoolean(), any());
+        assertThat(decoded.get(int16), is(equalTo(Arrays.asList(new DecimalType(0x1234)))));
+    }
+
+    @Test
+    public void testItemOutsideResponseIsDelegated() {
+        ModbusDataThingHandler outside = handler(3, ValueType.INT32);
+        RegisterDecodePlan plan = RegisterDecodePlan.create(1, Arrays.asList(outside));
+        AsyncModbusReadResult result = new AsyncModbusReadResult(REQUEST, REGISTERS);
+
+        plan.execute(result);
+
+        verify(outside).onReadResult(result);
+        assertThat(decoded.get(outside), is(nullValue()));
+    }
+
+    @Test
+    public void testBitsAreDelegated() {
+        ModbusDataThingHandler int16 = handler(0, ValueType.INT16);
+        RegisterDecodePlan plan = RegisterDecodePlan.create(1, Arrays.asList(int16));
+        AsyncModbusReadResult result = new AsyncModbusReadResult(REQUEST, new BitArray(true, false));
+
+        plan.execute(result);
+
+        verify(int16).onReadResult(result);
+        assertThat(decoded.get(int16), is(nullValue()));
+    }
+}
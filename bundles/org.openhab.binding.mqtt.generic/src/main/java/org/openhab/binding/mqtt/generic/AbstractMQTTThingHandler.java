@@ -46,6 +46,7 @@ import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +83,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicDispatcher topicDispatcher;
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
@@ -189,6 +191,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
         this.connection = connection;
+        this.topicDispatcher = h.getTopicDispatcher();
 
         // Start up (subscribe to MQTT topics). Limit with a timeout and catch exceptions.
         // We do not set the thing to ONLINE here in the AbstractBase, that is the responsibility of a derived
@@ -196,7 +199,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         try {
             Collection<CompletableFuture<@Nullable Void>> futures = availabilityStates.values().stream().map(s -> {
                 if (s != null) {
-                    return s.start(connection, scheduler, 0);
+                    return startChannelState(s, connection);
                 }
                 return CompletableFuture.allOf();
             }).collect(Collectors.toList());
@@ -287,6 +290,22 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         postCommand(channelUID, command);
     }
 
+    /**
+     * Subscribes the given channel state. If the bridge provides a {@link MqttTopicDispatcher} for the connection,
+     * the channel state subscribes via the dispatcher.
+     *
+     * @param state The channel state
+     * @param connection A started broker connection
+     * @return A future that completes when the channel state is subscribed
+     */
+    protected CompletableFuture<@Nullable Void> startChannelState(ChannelState state, MqttBrokerConnection connection) {
+        final MqttTopicDispatcher topicDispatcher = this.topicDispatcher;
+        if (topicDispatcher != null && topicDispatcher.getConnection() == connection) {
+            return state.start(topicDispatcher, scheduler, 0);
+        }
+        return state.start(connection, scheduler, 0);
+    }
+
     public @Nullable MqttBrokerConnection getConnection() {
         return connection;
     }
@@ -324,7 +343,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
                     });
             MqttBrokerConnection connection = getConnection();
             if (connection != null) {
-                state.start(connection, scheduler, 0);
+                startChannelState(state, connection);
             }
 
             return state;
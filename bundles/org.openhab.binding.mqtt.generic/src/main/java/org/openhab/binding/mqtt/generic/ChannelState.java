@@ -32,6 +32,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +56,7 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicDispatcher dispatcher;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
@@ -153,6 +155,15 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Fast path: Parse the payload without converting it to a string first
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            Command command = cachedValue.parsePayload(payload);
+            if (command != null) {
+                processCommand(channelStateUpdateListener, command);
+                return;
+            }
+        }
+
         // String value: Apply transformations
         String strValue = new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
@@ -181,6 +192,16 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        processCommand(channelStateUpdateListener, command);
+    }
+
+    /**
+     * Updates the cached value with the command parsed from the incoming payload, and notifies the listener.
+     *
+     * @param channelStateUpdateListener The listener to notify
+     * @param command The parsed command
+     */
+    private void processCommand(ChannelStateUpdateListener channelStateUpdateListener, Command command) {
         Command postOnlyCommand = cachedValue.isPostOnly(command);
         if (postOnlyCommand != null) {
             channelStateUpdateListener.postChannelCommand(channelUID, postOnlyCommand);
@@ -192,7 +213,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
@@ -242,8 +263,12 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
+        final MqttTopicDispatcher dispatcher = this.dispatcher;
         if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            CompletableFuture<Boolean> unsubscribeFuture = dispatcher != null
+                    ? dispatcher.unsubscribe(config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this);
+            return unsubscribeFuture.thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -253,6 +278,7 @@ public class ChannelState implements MqttMessageSubscriber {
     private void internalStop() {
         logger.debug("Unsubscribed channel {} form topic: {}", this.channelUID, config.stateTopic);
         this.connection = null;
+        this.dispatcher = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
@@ -288,6 +314,25 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
+        return start(connection, null, scheduler, timeout);
+    }
+
+    /**
+     * Subscribes to the state topic via the given topic dispatcher and informs about updates on the given listener.
+     *
+     * @param dispatcher The topic dispatcher of a broker connection
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds. Can be 0 to disable the timeout and let the future return earlier.
+     * @return A future that completes with true if the subscribing worked, with false if the stateTopic is not set
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<@Nullable Void> start(MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler,
+            int timeout) {
+        return start(dispatcher.getConnection(), dispatcher, scheduler, timeout);
+    }
+
+    private CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection,
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout) {
         synchronized (futureLock) {
             // if the connection is still the same, the subscription is still present, otherwise we need to renew
             if (hasSubscribed || !future.isDone() && connection.equals(this.connection)) {
@@ -296,6 +341,7 @@ public class ChannelState implements MqttMessageSubscriber {
             hasSubscribed = false;
 
             this.connection = connection;
+            this.dispatcher = dispatcher;
 
             if (StringUtils.isBlank(config.stateTopic)) {
                 return CompletableFuture.completedFuture(null);
@@ -303,7 +349,10 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        CompletableFuture<Boolean> subscribeFuture = dispatcher != null
+                ? dispatcher.subscribe(config.stateTopic, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscribeFuture.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -84,7 +84,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     @Override
     protected CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection) {
-        return channelStateByChannelUID.values().stream().map(c -> c.start(connection, scheduler, 0))
+        return channelStateByChannelUID.values().stream().map(c -> startChannelState(c, connection))
                 .collect(FutureCollector.allOf()).thenRun(this::calculateThingStatus);
     }
 
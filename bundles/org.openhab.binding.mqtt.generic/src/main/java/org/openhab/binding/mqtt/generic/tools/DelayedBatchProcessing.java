@@ -13,11 +13,13 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -25,47 +27,110 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
+ * Collects objects over time until a specified delay passed by without a new object being added.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * To not defer the processing indefinitely if objects keep coming in, the accumulated objects are delivered
+ * at the latest after a maximum delay, counted from the first object of a batch, or as soon as the
+ * maximum batch size is reached. A delivered list never exceeds the maximum batch size.
+ *
+ * Adding an object is lock-free: objects are collected in a concurrent queue and only the first object of a batch
+ * schedules a timer. There is at most one timer per batch, which re-arms itself for the remaining time when it fires
+ * too early. Deliveries never overlap and keep the order of the objects.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
-    private final int delay;
+    /** The default maximum delay, as a multiple of the delay */
+    public static final int DEFAULT_MAX_DELAY_FACTOR = 10;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private final long delayNanos;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
+    // Guards scheduling and cancelling the timer
+    private final Object lock = new Object();
+    // Held while delivering, so that deliveries of the timer and of a flush do not overlap
+    private final Object deliveryLock = new Object();
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    // Incremented whenever the timer is armed or disarmed. A timer only runs if it is still the current one.
+    private long timerGeneration;
+    private volatile long batchStartNanos;
+    private volatile long lastAcceptNanos;
+
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} with a maximum delay of {@value #DEFAULT_MAX_DELAY_FACTOR} times the
+     * delay and a maximum batch size of {@value #DEFAULT_MAX_BATCH_SIZE}.
      *
      * @param delay A delay in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
-        this.delay = delay;
-        this.consumer = consumer;
-        this.executor = executor;
+        this(delay, delay * DEFAULT_MAX_DELAY_FACTOR, DEFAULT_MAX_BATCH_SIZE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxDelay The maximum delay in milliseconds, counted from the first object of a batch
+     * @param maxBatchSize The number of accumulated objects that are delivered without waiting for the delay
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < delay) {
+            throw new IllegalArgumentException("Maximum delay need to be greater than or equal to the delay!");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.maxBatchSize = maxBatchSize;
+        this.consumer = consumer;
+        this.executor = executor;
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delivery is postponed until the delay passed by again, but not beyond the maximum delay.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        long now = System.nanoTime();
+        lastAcceptNanos = now;
+        if (queueSize.incrementAndGet() >= maxBatchSize) {
+            if (flushPending.compareAndSet(false, true)) {
+                executor.execute(this::flush);
+            }
+        } else if (!armed.get() && armed.compareAndSet(false, true)) {
+            synchronized (lock) {
+                // Not disarmed in the meantime, or armed by another object already
+                if (armed.get() && futureRef.get() == null) {
+                    batchStartNanos = now;
+                    schedule(++timerGeneration, delayNanos);
+                }
+            }
+        }
     }
 
     /**
@@ -74,40 +139,95 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        synchronized (lock) {
+            disarm();
         }
-        return lqueue;
+        return drain(Integer.MAX_VALUE);
     }
 
     /**
      * Return true if there is a delayed processing going on.
      */
     public boolean isArmed() {
-        ScheduledFuture<?> scheduledFuture = this.futureRef.get();
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return armed.get();
     }
 
     /**
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
+        synchronized (lock) {
+            disarm();
+        }
+        deliver();
+    }
+
+    private void schedule(long generation, long delayNanos) {
+        futureRef.set(executor.schedule(() -> timerExpired(generation), delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private void timerExpired(long generation) {
+        synchronized (lock) {
+            if (generation != timerGeneration) {
+                // Disarmed in the meantime
+                return;
+            }
+            long now = System.nanoTime();
+            long remaining = Math.min(delayNanos - (now - lastAcceptNanos),
+                    maxDelayNanos - (now - batchStartNanos));
+            if (remaining > 0) {
+                schedule(generation, remaining);
+                return;
+            }
+            // Objects added after this point arm a new timer, the ones added before are delivered below
+            timerGeneration++;
+            armed.set(false);
+            futureRef.set(null);
+        }
+        deliver();
+    }
+
+    private void flush() {
+        flushPending.set(false);
+        batchStartNanos = System.nanoTime();
+        deliver();
+    }
+
+    /**
+     * Must be called with the lock held.
+     */
+    private void disarm() {
+        timerGeneration++;
+        armed.set(false);
         cancel(futureRef.getAndSet(null));
-        run();
     }
 
-    private void run() {
+    /**
+     * Removes up to limit objects from the head of the queue.
+     */
+    private List<T> drain(int limit) {
         List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        T t;
+        while (lqueue.size() < limit && (t = queue.poll()) != null) {
+            lqueue.add(t);
         }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
+    }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+    /**
+     * Deliver the queued objects in batches of at most the maximum batch size.
+     */
+    private void deliver() {
+        synchronized (deliveryLock) {
+            List<T> lqueue;
+            while (true) {
+                lqueue = drain(maxBatchSize);
+                if (lqueue.isEmpty()) {
+                    return;
+                }
+                consumer.accept(lqueue);
+            }
         }
     }
 
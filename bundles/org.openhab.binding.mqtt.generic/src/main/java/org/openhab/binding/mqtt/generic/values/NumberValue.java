@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.generic.values;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -132,6 +133,23 @@ public class NumberValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal number = PayloadParser.parseDecimal(payload);
+        if (number != null) {
+            return new DecimalType(number);
+        } else if (Arrays.equals(payload, PayloadParser.INCREASE)) {
+            return IncreaseDecreaseType.INCREASE;
+        } else if (Arrays.equals(payload, PayloadParser.DECREASE)) {
+            return IncreaseDecreaseType.DECREASE;
+        } else if (Arrays.equals(payload, PayloadParser.UP)) {
+            return UpDownType.UP;
+        } else if (Arrays.equals(payload, PayloadParser.DOWN)) {
+            return UpDownType.DOWN;
+        }
+        return null;
+    }
+
     @Override
     public StateDescriptionFragmentBuilder createStateDescription(boolean readOnly) {
         StateDescriptionFragmentBuilder builder = super.createStateDescription(readOnly);
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +32,8 @@ import org.eclipse.smarthome.core.types.Command;
 public class OpenCloseValue extends Value {
     private final String openString;
     private final String closeString;
+    private final byte[] openPayload;
+    private final byte[] closePayload;
 
     /**
      * Creates a contact Open/Close type.
@@ -39,6 +42,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = OpenClosedType.OPEN.name();
         this.closeString = OpenClosedType.CLOSED.name();
+        this.openPayload = PayloadParser.OPEN;
+        this.closePayload = PayloadParser.CLOSED;
     }
 
     /**
@@ -51,6 +56,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = openValue == null ? OpenClosedType.OPEN.name() : openValue;
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
+        this.openPayload = PayloadParser.utf8(this.openString);
+        this.closePayload = PayloadParser.utf8(this.closeString);
     }
 
     @Override
@@ -69,6 +76,21 @@ public class OpenCloseValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        // Same precedence as the generic parsing: OpenClosedType first, then the custom strings
+        if (Arrays.equals(payload, PayloadParser.OPEN)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, PayloadParser.CLOSED)) {
+            return OpenClosedType.CLOSED;
+        } else if (Arrays.equals(payload, openPayload)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, closePayload)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(@Nullable String pattern) {
         String formatPattern = pattern;
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.values;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Helpers for parsing MQTT payloads directly from the received bytes, used by {@link Value#parsePayload(byte[])}.
+ *
+ * Only the common, unambiguous payload formats are recognised. Anything else is left to the generic parsing.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class PayloadParser {
+    static final byte[] ON = utf8("ON");
+    static final byte[] OFF = utf8("OFF");
+    static final byte[] OPEN = utf8("OPEN");
+    static final byte[] CLOSED = utf8("CLOSED");
+    static final byte[] INCREASE = utf8("INCREASE");
+    static final byte[] DECREASE = utf8("DECREASE");
+    static final byte[] UP = utf8("UP");
+    static final byte[] DOWN = utf8("DOWN");
+
+    /** Digits fitting into a long without overflow */
+    private static final int MAX_DIGITS = 18;
+
+    private PayloadParser() {
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a plain decimal number like "-12.50". Exponents, a leading plus sign, whitespace, units and numbers with
+     * more than 18 digits are not recognised.
+     *
+     * @param payload The MQTT payload
+     * @return The number, or null if the payload is not a plain decimal number
+     */
+    static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        int length = payload.length;
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && payload[0] == '-') {
+            negative = true;
+            i = 1;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int integerDigits = -1;
+        for (; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                if (digits == MAX_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+            } else if (b == '.' && integerDigits < 0 && digits > 0) {
+                integerDigits = digits;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || integerDigits == digits) {
+            return null;
+        }
+        int scale = integerDigits < 0 ? 0 : digits - integerDigits;
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+}
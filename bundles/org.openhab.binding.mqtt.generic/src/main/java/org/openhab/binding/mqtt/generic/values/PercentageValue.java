@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -56,6 +57,8 @@ public class PercentageValue extends Value {
     private final BigDecimal stepPercent;
     private final @Nullable String onValue;
     private final @Nullable String offValue;
+    private final byte @Nullable [] onPayload;
+    private final byte @Nullable [] offPayload;
 
     public PercentageValue(@Nullable BigDecimal min, @Nullable BigDecimal max, @Nullable BigDecimal step,
             @Nullable String onValue, @Nullable String offValue) {
@@ -63,6 +66,8 @@ public class PercentageValue extends Value {
                 OnOffType.class, UpDownType.class, StringType.class).collect(Collectors.toList()));
         this.onValue = onValue;
         this.offValue = offValue;
+        this.onPayload = onValue == null ? null : PayloadParser.utf8(onValue);
+        this.offPayload = offValue == null ? null : PayloadParser.utf8(offValue);
         this.min = min == null ? BigDecimal.ZERO : min;
         this.max = max == null ? HUNDRED : max;
         if (this.min.compareTo(this.max) >= 0) {
@@ -134,6 +139,35 @@ public class PercentageValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        // Same precedence as the generic parsing, see the order of the supported command types
+        BigDecimal number = PayloadParser.parseDecimal(payload);
+        if (number != null) {
+            return new DecimalType(number);
+        } else if (Arrays.equals(payload, PayloadParser.INCREASE)) {
+            return IncreaseDecreaseType.INCREASE;
+        } else if (Arrays.equals(payload, PayloadParser.DECREASE)) {
+            return IncreaseDecreaseType.DECREASE;
+        } else if (Arrays.equals(payload, PayloadParser.ON)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(payload, PayloadParser.OFF)) {
+            return OnOffType.OFF;
+        } else if (Arrays.equals(payload, PayloadParser.UP)) {
+            return UpDownType.UP;
+        } else if (Arrays.equals(payload, PayloadParser.DOWN)) {
+            return UpDownType.DOWN;
+        }
+        final String onValue = this.onValue;
+        final String offValue = this.offValue;
+        if (onValue != null && Arrays.equals(payload, onPayload)) {
+            return new StringType(onValue);
+        } else if (offValue != null && Arrays.equals(payload, offPayload)) {
+            return new StringType(offValue);
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(@Nullable String pattern) {
         if (state == UnDefType.UNDEF) {
@@ -125,6 +125,21 @@ public abstract class Value {
      */
     public abstract void update(Command command) throws IllegalArgumentException;
 
+    /**
+     * Parses the MQTT payload directly from the received bytes, skipping the string conversion and the generic
+     * parsing into one of the {@link #getSupportedCommandTypes()}.
+     * <p>
+     * Only called if no incoming transformations are configured. Implementations must return the same command the
+     * generic parsing would result in, or null to fall back to the generic parsing.
+     * </p>
+     *
+     * @param payload The MQTT payload
+     * @return A command accepted by {@link #update(Command)} or null if the payload is not recognised.
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
     /**
      * Returns the given command if it cannot be handled by {@link #update(Command)}
      * or {@link #update(byte[])} and need to be posted straight to the framework instead.
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DelayedBatchProcessing}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    private ScheduledExecutorService scheduler;
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void singleTimerPerBatch() {
+        ScheduledExecutorService mockScheduler = mock(ScheduledExecutorService.class);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, batches::add, mockScheduler);
+
+        for (int i = 0; i < 100; i++) {
+            processing.accept(i);
+        }
+        verify(mockScheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertTrue(processing.isArmed());
+
+        processing.forceProcessNow();
+        assertFalse(processing.isArmed());
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).size(), is(100));
+        assertThat(batches.get(0).get(99), is(99));
+    }
+
+    @Test
+    public void join() {
+        ScheduledExecutorService mockScheduler = mock(ScheduledExecutorService.class);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, batches::add, mockScheduler);
+
+        processing.accept(1);
+        processing.accept(2);
+        assertThat(processing.join(), is(Arrays.asList(1, 2)));
+        assertFalse(processing.isArmed());
+        processing.forceProcessNow();
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void deliverAfterDelay() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, batches::add, scheduler);
+        processing.accept(1);
+        processing.accept(2);
+
+        waitForBatches(1);
+        assertThat(batches.get(0), is(Arrays.asList(1, 2)));
+        assertFalse(processing.isArmed());
+    }
+
+    @Test
+    public void deliverWhenMaxBatchSizeReached() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 10000, 3, batches::add,
+                scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        processing.accept(3);
+
+        waitForBatches(1);
+        assertThat(batches.get(0), is(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void deliverAfterMaxDelay() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(200, 300, 1000, batches::add,
+                scheduler);
+        // A new object within the delay would postpone the delivery forever without a maximum delay
+        for (int i = 0; i < 60; i++) {
+            processing.accept(i);
+            Thread.sleep(20);
+        }
+        assertFalse(batches.isEmpty());
+    }
+
+    @Test
+    public void deliveriesOfFlushAndTimerDoNotOverlap() throws InterruptedException {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(4);
+        List<Integer> delivered = new ArrayList<>();
+        AtomicInteger activeDeliveries = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        try {
+            DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(1, 2, 5, batch -> {
+                if (activeDeliveries.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                delivered.addAll(batch);
+                activeDeliveries.decrementAndGet();
+            }, executor);
+            Thread forcing = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    processing.forceProcessNow();
+                }
+            });
+            forcing.start();
+            for (int i = 0; i < 2000; i++) {
+                processing.accept(i);
+            }
+            forcing.join();
+            processing.forceProcessNow();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(overlapped.get());
+        assertThat(delivered.size(), is(2000));
+        for (int i = 0; i < delivered.size(); i++) {
+            assertThat(delivered.get(i), is(i));
+        }
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(2);
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        try {
+            DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(1, 2, 7, delivered::addAll,
+                    executor);
+            List<Thread> producers = new ArrayList<>();
+            for (int producer = 0; producer < 4; producer++) {
+                int first = producer * 1000;
+                producers.add(new Thread(() -> {
+                    for (int i = first; i < first + 1000; i++) {
+                        processing.accept(i);
+                    }
+                }));
+            }
+            producers.forEach(Thread::start);
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            processing.forceProcessNow();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Integer> sorted = new ArrayList<>(delivered);
+        Collections.sort(sorted);
+        assertThat(sorted.size(), is(4000));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(sorted.get(i), is(i));
+        }
+    }
+
+    @Test
+    public void noTimerAfterJoin() throws InterruptedException {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            for (int round = 0; round < 100; round++) {
+                List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+                DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(1, 1, 1000,
+                        delivered::addAll, executor);
+                processing.accept(1);
+                processing.accept(2);
+                // Let the timer race the join
+                Thread.sleep(1);
+                List<Integer> joined = processing.join();
+
+                assertFalse(processing.isArmed());
+                Thread.sleep(5);
+                assertTrue(executor.getQueue().isEmpty());
+                List<Integer> all = new ArrayList<>(delivered);
+                all.addAll(joined);
+                assertThat(all, is(Arrays.asList(1, 2)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForBatches(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && batches.size() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(batches.size(), is(count));
+    }
+}
@@ -315,4 +315,41 @@ public class ValueTests {
                 null);
         v.update(new DecimalType(9.0));
     }
+
+    @Test
+    public void parsePayloadMatchesGenericParsing() {
+        for (String payload : new String[] { "0", "15", "-5.5", "0.50", "INCREASE", "DOWN" }) {
+            NumberValue generic = new NumberValue(null, null, null, null);
+            NumberValue fast = new NumberValue(null, null, null, null);
+            generic.update(p(generic, payload));
+            fast.update(fast.parsePayload(payload.getBytes()));
+            assertEquals(payload, generic.getChannelState(), fast.getChannelState());
+        }
+
+        PercentageValue percent = new PercentageValue(null, null, null, "fancyON", "fancyOFF");
+        for (String payload : new String[] { "50", "12.5", "ON", "OFF", "UP", "DECREASE", "fancyON", "fancyOFF" }) {
+            assertEquals(payload, p(percent, payload), percent.parsePayload(payload.getBytes()));
+        }
+
+        OnOffValue onoff = new OnOffValue("fancyON", "fancyOFF");
+        onoff.update(onoff.parsePayload("fancyON".getBytes()));
+        assertEquals(OnOffType.ON, onoff.getChannelState());
+        assertEquals(OnOffType.OFF, onoff.parsePayload("OFF".getBytes()));
+
+        OpenCloseValue openclose = new OpenCloseValue("fancyON", "fancyOFF");
+        assertEquals(OpenClosedType.CLOSED, openclose.parsePayload("fancyOFF".getBytes()));
+        assertEquals(OpenClosedType.OPEN, openclose.parsePayload("OPEN".getBytes()));
+    }
+
+    @Test
+    public void parsePayloadFallsBackToGenericParsing() {
+        NumberValue number = new NumberValue(null, null, null, null);
+        for (String payload : new String[] { "", "-", "1.", ".5", "1e3", "+1", " 1", "1.2.3", "21.5 °C",
+                "1234567890123456789" }) {
+            assertNull(payload, number.parsePayload(payload.getBytes()));
+        }
+        assertNull(new OnOffValue().parsePayload("on".getBytes()));
+        assertNull(new OpenCloseValue().parsePayload("open".getBytes()));
+        assertNull(new TextValue().parsePayload("text".getBytes()));
+    }
 }
@@ -19,6 +19,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 
 /**
  * Represents a MQTT subscription for one specific topic. This is an immutable class.
@@ -28,6 +29,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 @NonNullByDefault
 public class TopicSubscribe implements MqttMessageSubscriber {
     final @Nullable MqttBrokerConnection connection;
+    final @Nullable MqttTopicDispatcher dispatcher;
     final ThingUID thing;
     final String topic;
     final MQTTTopicDiscoveryParticipant topicDiscoveredListener;
@@ -45,6 +47,24 @@ public class TopicSubscribe implements MqttMessageSubscriber {
     public TopicSubscribe(@Nullable MqttBrokerConnection connection, String topic,
             MQTTTopicDiscoveryParticipant topicDiscoveredListener, ThingUID thing) {
         this.connection = connection;
+        this.dispatcher = null;
+        this.thing = thing;
+        this.topic = topic;
+        this.topicDiscoveredListener = topicDiscoveredListener;
+    }
+
+    /**
+     * Creates a {@link TopicSubscribe} object, that subscribes via the given dispatcher of the broker connection.
+     *
+     * @param dispatcher The topic dispatcher of the broker connection
+     * @param topic The topic
+     * @param topicDiscoveredListener A listener
+     * @param thing A thing, used as an argument to the listener callback.
+     */
+    public TopicSubscribe(MqttTopicDispatcher dispatcher, String topic,
+            MQTTTopicDiscoveryParticipant topicDiscoveredListener, ThingUID thing) {
+        this.connection = dispatcher.getConnection();
+        this.dispatcher = dispatcher;
         this.thing = thing;
         this.topic = topic;
         this.topicDiscoveredListener = topicDiscoveredListener;
@@ -68,8 +88,15 @@ public class TopicSubscribe implements MqttMessageSubscriber {
      * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
      */
     public CompletableFuture<Boolean> start() {
-        CompletableFuture<Boolean> startFuture = connection == null ? CompletableFuture.completedFuture(true)
-                : connection.subscribe(topic, this);
+        final MqttBrokerConnection connection = this.connection;
+        final MqttTopicDispatcher dispatcher = this.dispatcher;
+        CompletableFuture<Boolean> startFuture;
+        if (dispatcher != null) {
+            startFuture = dispatcher.subscribe(topic, this);
+        } else {
+            startFuture = connection == null ? CompletableFuture.completedFuture(true)
+                    : connection.subscribe(topic, this);
+        }
         isStarted = true;
         return startFuture;
     }
@@ -80,8 +107,15 @@ public class TopicSubscribe implements MqttMessageSubscriber {
      * @return Completes with true if successful. Exceptionally otherwise.
      */
     public CompletableFuture<Boolean> stop() {
-        CompletableFuture<Boolean> stopFuture = connection == null ? CompletableFuture.completedFuture(true)
-                : connection.unsubscribe(topic, this);
+        final MqttBrokerConnection connection = this.connection;
+        final MqttTopicDispatcher dispatcher = this.dispatcher;
+        CompletableFuture<Boolean> stopFuture;
+        if (dispatcher != null) {
+            stopFuture = dispatcher.unsubscribe(topic, this);
+        } else {
+            stopFuture = connection == null ? CompletableFuture.completedFuture(true)
+                    : connection.unsubscribe(topic, this);
+        }
         isStarted = false;
         return stopFuture;
     }
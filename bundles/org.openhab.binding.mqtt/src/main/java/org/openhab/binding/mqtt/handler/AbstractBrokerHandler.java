@@ -51,6 +51,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
+    protected @Nullable MqttTopicDispatcher dispatcher;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
 
     public AbstractBrokerHandler(Bridge thing) {
@@ -77,6 +78,18 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the {@link MqttTopicDispatcher} of the underlying {@link MqttBrokerConnection}, available after
+     * {@link #initialize()} has performed.
+     * <p>
+     * Subscribers of the dispatcher receive each message via a single topic trie lookup for all matching topic
+     * filters.
+     * </p>
+     */
+    public @Nullable MqttTopicDispatcher getTopicDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -95,10 +108,15 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             logger.warn("Trying to initialize {} but connection is null. This is most likely a bug.", thing.getUID());
             return;
         }
+        MqttTopicDispatcher dispatcher = this.dispatcher;
+        if (dispatcher == null || dispatcher.getConnection() != connection) {
+            dispatcher = new MqttTopicDispatcher(connection);
+            this.dispatcher = dispatcher;
+        }
         for (Channel channel : thing.getChannels()) {
             final PublishTriggerChannelConfig channelConfig = channel.getConfiguration()
                     .as(PublishTriggerChannelConfig.class);
-            PublishTriggerChannel c = new PublishTriggerChannel(channelConfig, channel.getUID(), connection, this);
+            PublishTriggerChannel c = new PublishTriggerChannel(channelConfig, channel.getUID(), dispatcher, this);
             channelStateByChannelUID.put(channel.getUID(), c);
         }
 
@@ -116,13 +134,14 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         });
         connectionFuture.complete(connection);
 
+        final MqttTopicDispatcher topicDispatcher = dispatcher;
         discoveryTopics.forEach((topic, listenerMap) -> {
             listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
                 if (oldTopicSubscribe.isStarted()) {
                     oldTopicSubscribe.stop();
                 }
 
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
+                TopicSubscribe topicSubscribe = new TopicSubscribe(topicDispatcher, topic, listener, thing.getUID());
                 if (discoveryEnabled()) {
                     topicSubscribe.start().handle((result, ex) -> {
                         if (ex != null) {
@@ -182,6 +201,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                     thing.getUID());
         }
         this.connection = null;
+        this.dispatcher = null;
         connectionFuture = new CompletableFuture<>();
         super.dispose();
     }
@@ -202,7 +222,10 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                 v.stop();
             }
 
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
+            final MqttTopicDispatcher dispatcher = this.dispatcher;
+            TopicSubscribe topicSubscribe = dispatcher != null
+                    ? new TopicSubscribe(dispatcher, topic, listener, thing.getUID())
+                    : new TopicSubscribe(connection, topic, listener, thing.getUID());
             if (discoveryEnabled()) {
                 topicSubscribe.start().handle((result, ex) -> {
                     if (ex != null) {
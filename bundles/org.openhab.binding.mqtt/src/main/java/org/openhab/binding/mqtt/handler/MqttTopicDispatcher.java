@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.internal.MqttTopicTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches the messages of a {@link MqttBrokerConnection} to the subscribers of all matching topic filters.
+ *
+ * The subscribers are kept in a {@link MqttTopicTrie}. Only one subscription per distinct topic filter is registered
+ * on the broker connection, as long as the filter has any subscribers. The broker connection calls the subscription of
+ * every filter matching a message once, which passes the message to the subscribers of its filter found in the trie.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(MqttTopicDispatcher.class);
+
+    private final MqttBrokerConnection connection;
+    private final MqttTopicTrie<MqttMessageSubscriber> subscribers = new MqttTopicTrie<>();
+    private final Map<String, FilterSubscription> filterSubscriptions = new HashMap<>();
+
+    /**
+     * The subscriber registered on the broker connection for one topic filter.
+     */
+    private class FilterSubscription implements MqttMessageSubscriber {
+        private final String filter;
+        private CompletableFuture<Boolean> subscribed = CompletableFuture.completedFuture(false);
+
+        FilterSubscription(String filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            for (MqttMessageSubscriber subscriber : subscribers.get(filter)) {
+                try {
+                    subscriber.processMessage(topic, payload);
+                } catch (RuntimeException e) {
+                    logger.warn("Subscriber {} failed to process message on topic {}", subscriber, topic, e);
+                }
+            }
+        }
+    }
+
+    public MqttTopicDispatcher(MqttBrokerConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the underlying {@link MqttBrokerConnection}.
+     */
+    public MqttBrokerConnection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Subscribes to a topic.
+     *
+     * @param topic The topic filter, wildcards allowed
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        synchronized (filterSubscriptions) {
+            FilterSubscription subscription = filterSubscriptions.get(topic);
+            if (subscription == null) {
+                subscription = new FilterSubscription(topic);
+                filterSubscriptions.put(topic, subscription);
+                subscribers.add(topic, subscriber);
+                subscription.subscribed = connection.subscribe(topic, subscription);
+            } else {
+                subscribers.add(topic, subscriber);
+            }
+            return subscription.subscribed;
+        }
+    }
+
+    /**
+     * Unsubscribes from a topic.
+     *
+     * @param topic The topic filter, as used in {@link #subscribe(String, MqttMessageSubscriber)}
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        synchronized (filterSubscriptions) {
+            if (!subscribers.remove(topic, subscriber)) {
+                // Not subscribed, or other subscribers of the filter remain
+                return CompletableFuture.completedFuture(true);
+            }
+            FilterSubscription subscription = filterSubscriptions.remove(topic);
+            if (subscription == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            return connection.unsubscribe(topic, subscription);
+        }
+    }
+}
@@ -16,7 +16,6 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.thing.ChannelUID;
-import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 
 /**
@@ -27,21 +26,21 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
  */
 @NonNullByDefault
 public class PublishTriggerChannel implements MqttMessageSubscriber {
-    private final MqttBrokerConnection connection;
+    private final MqttTopicDispatcher dispatcher;
     private final PublishTriggerChannelConfig config;
     private final ChannelUID uid;
     private final AbstractBrokerHandler handler;
 
-    PublishTriggerChannel(PublishTriggerChannelConfig config, ChannelUID uid, MqttBrokerConnection connection,
+    PublishTriggerChannel(PublishTriggerChannelConfig config, ChannelUID uid, MqttTopicDispatcher dispatcher,
             AbstractBrokerHandler handler) {
         this.config = config;
         this.uid = uid;
-        this.connection = connection;
+        this.dispatcher = dispatcher;
         this.handler = handler;
     }
 
     CompletableFuture<Boolean> start() {
-        return stop().thenCompose(b -> connection.subscribe(config.stateTopic, this));
+        return stop().thenCompose(b -> dispatcher.subscribe(config.stateTopic, this));
     }
 
     @Override
@@ -60,6 +59,6 @@ public class PublishTriggerChannel implements MqttMessageSubscriber {
     }
 
     public CompletableFuture<Boolean> stop() {
-        return connection.unsubscribe(config.stateTopic, this);
+        return dispatcher.unsubscribe(config.stateTopic, this);
     }
 }
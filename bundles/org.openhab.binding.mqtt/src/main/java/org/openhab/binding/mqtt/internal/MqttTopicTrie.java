@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A trie of MQTT topic filters. Each filter level (the parts between the '/' separators) is a node of the trie.
+ * Values are stored at the node of their filter.
+ *
+ * Matching a topic against all stored filters, including the single level wildcard '+' and the multi level wildcard
+ * '#', visits at most the nodes along the topic levels and is independent of the number of stored filters.
+ * As required by the MQTT specification, topics starting with '$' are not matched by wildcards on the first level.
+ *
+ * Modifications are synchronized, matching is lock-free.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> The value type
+ */
+@NonNullByDefault
+public class MqttTopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+        final Set<T> values = new CopyOnWriteArraySet<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Adds a value to the given topic filter.
+     *
+     * @param filter A topic filter, wildcards allowed
+     * @param value The value
+     * @return Returns true if the filter did not have any values before.
+     */
+    public synchronized boolean add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        boolean first = node.values.isEmpty();
+        if (node.values.add(value)) {
+            size++;
+        }
+        return first;
+    }
+
+    /**
+     * Removes a value from the given topic filter.
+     *
+     * @param filter A topic filter, as used in {@link #add(String, Object)}
+     * @param value The value
+     * @return Returns true if the value was removed and the filter does not have any values anymore.
+     */
+    public synchronized boolean remove(String filter, T value) {
+        String[] levels = filter.split("/", -1);
+        if (!remove(root, levels, 0, value)) {
+            return false;
+        }
+        size--;
+        return get(filter).isEmpty();
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of exactly the given topic filter. Wildcards are not expanded.
+     *
+     * @param filter A topic filter, as used in {@link #add(String, Object)}
+     * @return The values, or an empty set.
+     */
+    public Set<T> get(String filter) {
+        Node<T> node = root;
+        int start = 0;
+        while (node != null) {
+            int end = filter.indexOf('/', start);
+            if (end < 0) {
+                Node<T> last = node.children.get(filter.substring(start));
+                return last == null ? Collections.emptySet() : Collections.unmodifiableSet(last.values);
+            }
+            node = node.children.get(filter.substring(start, end));
+            start = end + 1;
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Calls the consumer for all values of all filters matching the given topic.
+     *
+     * @param topic A topic without wildcards
+     * @param consumer The consumer
+     */
+    public void match(String topic, Consumer<T> consumer) {
+        match(root, topic, 0, consumer);
+    }
+
+    private void match(Node<T> node, String topic, int start, Consumer<T> consumer) {
+        boolean wildcardsAllowed = node != root || !topic.startsWith("$");
+        if (wildcardsAllowed) {
+            // '#' also matches the parent level: "a/#" matches "a"
+            Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null) {
+                multiLevel.values.forEach(consumer);
+            }
+        }
+        if (start > topic.length()) {
+            node.values.forEach(consumer);
+            return;
+        }
+        int end = topic.indexOf('/', start);
+        if (end < 0) {
+            end = topic.length();
+        }
+        Node<T> exact = node.children.get(topic.substring(start, end));
+        if (exact != null) {
+            match(exact, topic, end + 1, consumer);
+        }
+        if (wildcardsAllowed) {
+            Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null) {
+                match(singleLevel, topic, end + 1, consumer);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stored values.
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
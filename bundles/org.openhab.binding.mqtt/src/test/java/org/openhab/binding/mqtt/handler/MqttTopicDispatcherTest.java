@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link MqttTopicDispatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MqttTopicDispatcherTest {
+    private final MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+    private final MqttTopicDispatcher dispatcher = new MqttTopicDispatcher(connection);
+
+    /**
+     * The topic filters and subscribers registered on the broker connection
+     */
+    private final List<String> connectionFilters = new ArrayList<>();
+    private final List<MqttMessageSubscriber> connectionSubscribers = new ArrayList<>();
+
+    /**
+     * Collects the topics of the received messages
+     */
+    private static class Subscriber implements MqttMessageSubscriber {
+        final List<String> topics = new ArrayList<>();
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            topics.add(topic + "=" + new String(payload));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        doAnswer(i -> {
+            connectionFilters.add(i.getArgument(0));
+            connectionSubscribers.add(i.getArgument(1));
+            return CompletableFuture.completedFuture(true);
+        }).when(connection).subscribe(anyString(), any());
+        doAnswer(i -> {
+            for (int index = 0; index < connectionFilters.size(); index++) {
+                if (connectionFilters.get(index).equals(i.getArgument(0))
+                        && connectionSubscribers.get(index).equals(i.getArgument(1))) {
+                    connectionFilters.remove(index);
+                    connectionSubscribers.remove(index);
+                    break;
+                }
+            }
+            return CompletableFuture.completedFuture(true);
+        }).when(connection).unsubscribe(anyString(), any());
+    }
+
+    /**
+     * Delivers a message like the broker connection: every subscriber with a matching filter is called with the same
+     * payload.
+     */
+    private void receive(String topic, String payload) {
+        byte[] bytes = payload.getBytes();
+        for (int index = 0; index < connectionFilters.size(); index++) {
+            String regex = connectionFilters.get(index).replace("+", "[^/]*").replace("/#", "(/.*)?").replace("#",
+                    ".*");
+            if (topic.matches(regex)) {
+                connectionSubscribers.get(index).processMessage(topic, bytes);
+            }
+        }
+    }
+
+    @Test
+    public void wildcardFilters() {
+        Subscriber exact = new Subscriber();
+        Subscriber singleLevel = new Subscriber();
+        Subscriber multiLevel = new Subscriber();
+        dispatcher.subscribe("homie/device/node/prop", exact);
+        dispatcher.subscribe("homie/+/node/prop", singleLevel);
+        dispatcher.subscribe("homie/#", multiLevel);
+
+        receive("homie/device/node/prop", "1");
+        receive("homie/other/node/prop", "2");
+        receive("homie/device/$state", "3");
+        receive("other/device/node/prop", "4");
+
+        assertThat(exact.topics, is(Arrays.asList("homie/device/node/prop=1")));
+        assertThat(singleLevel.topics, is(Arrays.asList("homie/device/node/prop=1", "homie/other/node/prop=2")));
+        assertThat(multiLevel.topics, is(Arrays.asList("homie/device/node/prop=1", "homie/other/node/prop=2",
+                "homie/device/$state=3")));
+    }
+
+    @Test
+    public void overlappingSubscribersReceiveEachMessageOnce() {
+        Subscriber first = new Subscriber();
+        Subscriber second = new Subscriber();
+        Subscriber third = new Subscriber();
+        dispatcher.subscribe("a/b", first);
+        dispatcher.subscribe("a/b", second);
+        dispatcher.subscribe("a/+", third);
+        // Subscribing again has no effect
+        dispatcher.subscribe("a/b", first);
+        // One subscription per distinct filter
+        assertThat(connectionFilters, is(Arrays.asList("a/b", "a/+")));
+
+        receive("a/b", "1");
+        receive("a/b", "2");
+
+        assertThat(first.topics, is(Arrays.asList("a/b=1", "a/b=2")));
+        assertThat(second.topics, is(Arrays.asList("a/b=1", "a/b=2")));
+        assertThat(third.topics, is(Arrays.asList("a/b=1", "a/b=2")));
+    }
+
+    @Test
+    public void unsubscribe() {
+        Subscriber first = new Subscriber();
+        Subscriber second = new Subscriber();
+        dispatcher.subscribe("a/#", first);
+        dispatcher.subscribe("a/#", second);
+
+        dispatcher.unsubscribe("a/#", first);
+        dispatcher.unsubscribe("a/#", first);
+        receive("a/b", "1");
+
+        assertThat(first.topics, is(Collections.emptyList()));
+        assertThat(second.topics, is(Arrays.asList("a/b=1")));
+        // The filter is still subscribed for the second subscriber
+        verify(connection, never()).unsubscribe(anyString(), any());
+
+        dispatcher.unsubscribe("a/#", second);
+        verify(connection, times(1)).unsubscribe(eq("a/#"), any());
+        assertThat(connectionFilters.size(), is(0));
+
+        // Subscribing again registers the filter again
+        dispatcher.subscribe("a/#", first);
+        receive("a/b", "2");
+        assertThat(first.topics, is(Arrays.asList("a/b=2")));
+        assertThat(connectionFilters.size(), is(1));
+    }
+
+    @Test
+    public void failingSubscriberDoesNotStopDispatching() {
+        MqttMessageSubscriber failing = mock(MqttMessageSubscriber.class);
+        doThrow(new IllegalStateException("test")).when(failing).processMessage(anyString(), any());
+        Subscriber subscriber = new Subscriber();
+        dispatcher.subscribe("a/+", failing);
+        dispatcher.subscribe("a/b", subscriber);
+
+        receive("a/b", "1");
+
+        verify(failing).processMessage(eq("a/b"), any());
+        assertThat(subscriber.topics, is(Arrays.asList("a/b=1")));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link MqttTopicTrie}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MqttTopicTrieTest {
+    private static List<String> match(MqttTopicTrie<String> trie, String topic) {
+        List<String> result = new ArrayList<>();
+        trie.match(topic, result::add);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    public void exactAndWildcardMatches() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        for (String filter : Arrays.asList("a/b/c", "a/+/c", "a/#", "+/b/+", "#", "a/b", "a/b/c/d")) {
+            trie.add(filter, filter);
+        }
+
+        assertThat(match(trie, "a/b/c"), is(Arrays.asList("#", "+/b/+", "a/#", "a/+/c", "a/b/c")));
+        assertThat(match(trie, "a"), is(Arrays.asList("#", "a/#")));
+        assertThat(match(trie, "a/b"), is(Arrays.asList("#", "a/#", "a/b")));
+        assertThat(match(trie, "x/b/y"), is(Arrays.asList("#", "+/b/+")));
+        assertThat(match(trie, "x/y"), is(Arrays.asList("#")));
+    }
+
+    @Test
+    public void emptyLevels() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        trie.add("a/+", "a/+");
+        trie.add("/a", "/a");
+
+        assertThat(match(trie, "a/"), is(Arrays.asList("a/+")));
+        assertThat(match(trie, "/a"), is(Arrays.asList("/a")));
+        assertThat(match(trie, "a"), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void systemTopicsNotMatchedByWildcardsOnFirstLevel() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        trie.add("#", "#");
+        trie.add("+/info", "+/info");
+        trie.add("$SYS/#", "$SYS/#");
+
+        assertThat(match(trie, "$SYS/info"), is(Arrays.asList("$SYS/#")));
+    }
+
+    @Test
+    public void addAndRemove() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        assertTrue(trie.add("a/+/c", "first"));
+        assertFalse(trie.add("a/+/c", "second"));
+        assertThat(trie.size(), is(2));
+        assertThat(trie.get("a/+/c").size(), is(2));
+        assertTrue(trie.get("a/+").isEmpty());
+
+        assertFalse(trie.remove("a/+/c", "first"));
+        assertFalse(trie.remove("a/+/c", "first"));
+        assertTrue(trie.remove("a/+/c", "second"));
+        assertThat(trie.size(), is(0));
+        assertThat(match(trie, "a/b/c"), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void manyFilters() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        for (int device = 0; device < 100; device++) {
+            for (int property = 0; property < 10; property++) {
+                String filter = "homie/device" + device + "/node/property" + property;
+                trie.add(filter, filter);
+            }
+        }
+        trie.add("homie/+/$homie", "discovery");
+        assertThat(trie.size(), is(1001));
+
+        assertThat(match(trie, "homie/device17/node/property3"), is(Arrays.asList("homie/device17/node/property3")));
+        assertThat(match(trie, "homie/device17/$homie"), is(Arrays.asList("discovery")));
+        assertThat(match(trie, "homie/device100/node/property3"), is(Collections.emptyList()));
+    }
+}
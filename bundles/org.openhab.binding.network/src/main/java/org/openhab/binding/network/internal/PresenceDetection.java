@@ -15,12 +15,13 @@ package org.openhab.binding.network.internal;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +37,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +55,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
     NetworkUtils networkUtils = new NetworkUtils();
+    private final PresenceProbeEngine probeEngine;
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -79,14 +82,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    volatile boolean detectionInProgress;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
+    private volatile int detectionRun;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProbeEngine probeEngine,
+            int cacheDeviceStateTimeInMS) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -279,14 +284,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
+    /**
+     * Returns the executor for the ICMP and ARP pings of a presence detection. All presence detections share the
+     * thread pool of the {@link PresenceProbeEngine}.
+     */
     public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+        return probeEngine.getExecutor();
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. ICMP and ARP pings are performed by the shared thread pool
+     * of the {@link PresenceProbeEngine}, TCP connection attempts do not block a thread.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,7 +309,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detectionInProgress) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -328,31 +337,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        detectionInProgress = true;
+        final int run = ++detectionRun;
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort, run).whenComplete((result, e) -> checkIfFinished(run));
         }
 
         // ARP ping for IPv4 addresses. Use single executor for Windows tool and
         // each own executor for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
             executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
+                performARPping("", run);
+                checkIfFinished(run);
             });
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
                 executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
+                    performARPping(interfaceName, run);
+                    checkIfFinished(run);
                 });
             }
         }
@@ -361,12 +365,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (pingMethod != null) {
             executorService.execute(() -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
+                    performSystemPing(run);
                 } else {
-                    performJavaPing();
+                    performJavaPing(run);
                 }
-                checkIfFinished();
+                checkIfFinished(run);
             });
         }
 
@@ -380,19 +383,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished. Results of checks still running
+     * are ignored.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        if (!detectionInProgress) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionInProgress = false;
         detectionChecks = 0;
+        notifyAll();
 
         PresenceDetectionValue v;
 
@@ -419,8 +421,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param run the presence detection the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(int run) {
+        if (run != detectionRun) {
+            // a late check of a previous presence detection
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -433,18 +441,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        if (!detectionInProgress) {
             return;
         }
         try {
-            // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                long deadline = System.currentTimeMillis() + timeoutInMS + 100;
+                long remaining = timeoutInMS + 100;
+                while (detectionInProgress && remaining > 0) {
+                    // We may get interrupted here by cancelRefreshJob().
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                detectionInProgress = false;
+                detectionChecks = 0;
+            }
         }
     }
 
@@ -473,24 +489,49 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Updates the PresenceDetectionValue with a successful check and submits it as partial result. Results of checks
+     * of a previous presence detection are ignored.
+     *
+     * @param run the presence detection the check belongs to
+     * @param type The detection type
+     * @param pingResult The result of the check
+     * @param tcpPort The reachable TCP port of a TCP check, null otherwise
+     */
+    private synchronized void submitPartialResult(int run, PresenceDetectionType type, PingResult pingResult,
+            @Nullable Integer tcpPort) {
+        if (run != detectionRun) {
+            return;
+        }
+        PresenceDetectionValue v = updateReachableValue(type, getLatency(pingResult, preferResponseTimeAsLatency));
+        if (tcpPort != null) {
+            v.addReachableTcpService(tcpPort);
+        }
+        updateListener.partialDetectionResult(v);
+    }
+
+    /**
+     * Starts a TCP connection attempt on the given port.
+     *
+     * @param tcpPort The TCP port
+     * @param run the presence detection the check belongs to
+     * @return A future completing when the check is finished
+     */
+    protected CompletableFuture<?> performServicePing(int tcpPort, int run) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
-                    }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return probeEngine.connect(new InetSocketAddress(destinationAddress, tcpPort), timeoutInMS).handle((o, e) -> {
+            if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (o.isSuccess()) {
+                submitPartialResult(run, PresenceDetectionType.TCP_CONNECTION, o, tcpPort);
+            }
+            return null;
+        });
     }
 
     /**
@@ -500,27 +541,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @param run the presence detection the check belongs to
      */
-    protected void performARPping(String interfaceName) {
+    protected void performARPping(String interfaceName, int run) {
         try {
             logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress == null) {
                 return;
             }
-            if (iosDevice) {
-                networkUtils.wakeUpIOS(destinationAddress);
-                Thread.sleep(50);
-            }
 
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                        if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
-                        }
-                    });
+            // things for the same host and with the same settings share the ARP ping
+            String key = "arp " + interfaceName + " " + timeoutInMS + (iosDevice ? " ios " : " ")
+                    + destinationAddress.getHostAddress();
+            probeEngine.coalesce(key, () -> {
+                if (iosDevice) {
+                    networkUtils.wakeUpIOS(destinationAddress);
+                    Thread.sleep(50);
+                }
+                return networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                        destinationAddress.getHostAddress(), timeoutInMS);
+            }).ifPresent(o -> {
+                if (o.isSuccess()) {
+                    submitPartialResult(run, PresenceDetectionType.ARP_PING, o, null);
+                }
+            });
         } catch (IOException e) {
             logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
         } catch (InterruptedException ignored) {
@@ -533,8 +578,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * and will not work on windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
+     *
+     * @param run the presence detection the check belongs to
      */
-    protected void performJavaPing() {
+    protected void performJavaPing(int run) {
         logger.trace("Perform java ping presence detection for {}", hostname);
 
         InetAddress destinationAddress = destination.getValue();
@@ -544,14 +591,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
             if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                        getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
+                submitPartialResult(run, PresenceDetectionType.ICMP_PING, o, null);
             }
         });
     }
 
-    protected void performSystemPing() {
+    protected void performSystemPing(int run) {
         try {
             logger.trace("Perform native ping presence detection for {}", hostname);
             InetAddress destinationAddress = destination.getValue();
@@ -559,13 +604,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 return;
             }
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
+            // things for the same host and with the same timeout share the ping
+            probeEngine.coalesce("icmp " + timeoutInMS + " " + destinationAddress.getHostAddress(),
+                    () -> networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS))
+                    .ifPresent(o -> {
+                        if (o.isSuccess()) {
+                            submitPartialResult(run, PresenceDetectionType.ICMP_PING, o, null);
+                        }
+                    });
         } catch (IOException e) {
             logger.trace("Failed to execute a native ping for ip {}", hostname, e);
         } catch (InterruptedException e) {
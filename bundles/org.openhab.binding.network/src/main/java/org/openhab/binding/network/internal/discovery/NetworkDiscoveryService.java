@@ -37,17 +37,20 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to, ICMP pings and ARP pings. The TCP ports of all
+ * addresses are probed by a {@link TcpPortSweep}, without a thread per address.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -66,9 +69,12 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
     private Integer scannedIPcount = 0;
+    private boolean tcpSweepFinished;
     private @Nullable ExecutorService executorService = null;
+    private @Nullable TcpPortSweep tcpPortSweep;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private @NonNullByDefault({}) PresenceProbeEngine probeEngine;
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
@@ -99,9 +105,22 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (executorService != null) {
             executorService.shutdown();
         }
+        TcpPortSweep sweep = tcpPortSweep;
+        if (sweep != null) {
+            sweep.cancel();
+        }
         super.deactivate();
     }
 
+    @Reference
+    protected void setPresenceProbeEngine(PresenceProbeEngine probeEngine) {
+        this.probeEngine = probeEngine;
+    }
+
+    protected void unsetPresenceProbeEngine(PresenceProbeEngine probeEngine) {
+        this.probeEngine = null;
+    }
+
     @Override
     public void partialDetectionResult(PresenceDetectionValue value) {
         final String ip = value.getHostAddress();
@@ -135,10 +154,26 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount = 0;
+        synchronized (this) {
+            scannedIPcount = 0;
+            tcpSweepFinished = false;
+        }
+
+        // TCP devices
+        TcpPortSweep sweep = new TcpPortSweep(probeEngine, scheduler,
+                configuration.maxPendingConnects.intValue(), configuration.maxConnectsPerSecond.intValue(),
+                PING_TIMEOUT_IN_MS, networkIPs, tcpServicePorts, this::newServiceDevice);
+        tcpPortSweep = sweep;
+        // not in the thread of the probe engine, stopping the scan blocks
+        sweep.start().thenRunAsync(() -> {
+            synchronized (this) {
+                tcpSweepFinished = true;
+            }
+            checkScanFinished(networkIPs.size());
+        }, scheduler);
 
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+            final PresenceDetection s = new PresenceDetection(this, probeEngine, 2000);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
@@ -146,26 +181,38 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
                 s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
+                synchronized (this) {
                     scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
                 }
+                checkScanFinished(networkIPs.size());
             });
         }
     }
 
+    private void checkScanFinished(int ipCount) {
+        synchronized (this) {
+            if (scannedIPcount != ipCount || !tcpSweepFinished) {
+                return;
+            }
+            // stop only once
+            tcpSweepFinished = false;
+        }
+        logger.trace("Scan of {} IPs successful", ipCount);
+        stopScan();
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        TcpPortSweep sweep = tcpPortSweep;
+        if (sweep != null) {
+            sweep.cancel();
+            tcpPortSweep = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
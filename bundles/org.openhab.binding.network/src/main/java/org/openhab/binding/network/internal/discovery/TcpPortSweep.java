@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
+
+/**
+ * Probes the TCP ports of many hosts by non-blocking connects of the {@link PresenceProbeEngine}, without a thread per
+ * host. The number of pending connects is limited to a window, and the rate at which connects are started is limited
+ * as well. A connect is started whenever one finishes or, if the rate is exceeded, by the scheduler.
+ *
+ * The listener for open ports is called by the scheduler, not by the selector thread of the engine. A connect counts
+ * as pending until its listener call returned.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class TcpPortSweep {
+    private final PresenceProbeEngine probeEngine;
+    private final ScheduledExecutorService scheduler;
+    private final int maxPendingConnects;
+    private final long connectInterval;
+    private final int timeoutInMS;
+
+    private final List<String> hosts;
+    private final List<Integer> ports;
+    private final BiConsumer<String, Integer> openPortListener;
+    private final CompletableFuture<@Nullable Void> finished = new CompletableFuture<>();
+
+    private int started;
+    private int pending;
+    private long nextStart;
+    private boolean starting;
+    private boolean startScheduled;
+    private volatile boolean cancelled;
+
+    /**
+     * @param probeEngine the engine performing the connects
+     * @param scheduler the scheduler to start connects delayed by the rate limit and to call the listener
+     * @param maxPendingConnects the maximum number of connects pending at the same time
+     * @param maxConnectsPerSecond the maximum number of connects started per second, 0 for no limit
+     * @param timeoutInMS the connect timeout in milliseconds
+     * @param hosts the IP addresses
+     * @param ports the ports to probe on every host
+     * @param openPortListener called with host and port of every accepted connection
+     */
+    TcpPortSweep(PresenceProbeEngine probeEngine, ScheduledExecutorService scheduler, int maxPendingConnects,
+            int maxConnectsPerSecond, int timeoutInMS, Collection<String> hosts, Collection<Integer> ports,
+            BiConsumer<String, Integer> openPortListener) {
+        this.probeEngine = probeEngine;
+        this.scheduler = scheduler;
+        this.maxPendingConnects = Math.max(1, maxPendingConnects);
+        this.connectInterval = maxConnectsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxConnectsPerSecond : 0;
+        this.timeoutInMS = timeoutInMS;
+        this.hosts = new ArrayList<>(hosts);
+        this.ports = new ArrayList<>(ports);
+        this.openPortListener = openPortListener;
+    }
+
+    /**
+     * Starts the sweep.
+     *
+     * @return a future completing when all connects finished or the sweep was cancelled
+     */
+    CompletableFuture<@Nullable Void> start() {
+        synchronized (this) {
+            nextStart = System.nanoTime();
+        }
+        startConnects();
+        return finished;
+    }
+
+    /**
+     * Starts no further connects. Pending connects finish in the background.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        finished.complete(null);
+    }
+
+    private int size() {
+        return hosts.size() * ports.size();
+    }
+
+    private synchronized void startConnects() {
+        if (starting) {
+            // called by a connect finishing immediately, the loop below continues
+            return;
+        }
+        starting = true;
+        try {
+            while (!cancelled && started < size() && pending < maxPendingConnects) {
+                long now = System.nanoTime();
+                if (connectInterval > 0) {
+                    long delay = nextStart - now;
+                    if (delay > 0) {
+                        if (!startScheduled) {
+                            startScheduled = true;
+                            scheduler.schedule(this::scheduledStart, delay, TimeUnit.NANOSECONDS);
+                        }
+                        return;
+                    }
+                    nextStart = Math.max(nextStart, now) + connectInterval;
+                }
+
+                String host = hosts.get(started / ports.size());
+                int port = ports.get(started % ports.size());
+                started++;
+                pending++;
+                probeEngine.connect(new InetSocketAddress(host, port), timeoutInMS)
+                        .whenComplete((result, e) -> connectFinished(host, port, result));
+            }
+            if (started == size() && pending == 0) {
+                finished.complete(null);
+            }
+        } finally {
+            starting = false;
+        }
+    }
+
+    private void scheduledStart() {
+        synchronized (this) {
+            startScheduled = false;
+        }
+        startConnects();
+    }
+
+    private void connectFinished(String host, int port, @Nullable PingResult result) {
+        if (result != null && result.isSuccess() && !cancelled) {
+            scheduler.execute(() -> {
+                try {
+                    if (!cancelled) {
+                        openPortListener.accept(host, port);
+                    }
+                } finally {
+                    connectDone();
+                }
+            });
+        } else {
+            connectDone();
+        }
+    }
+
+    private void connectDone() {
+        synchronized (this) {
+            pending--;
+        }
+        startConnects();
+    }
+}
@@ -0,0 +1,398 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs the presence probes of all things and of the discovery.
+ *
+ * <ul>
+ * <li>Probes running an external tool (ping, arping) are executed by a single bounded thread pool. Idle threads
+ * terminate after a minute.</li>
+ * <li>Concurrent probes for the same host are coalesced: the probe started first is performed, the others wait for its
+ * result.</li>
+ * <li>TCP connect probes do not occupy a thread. They are non-blocking connects, multiplexed on a single selector
+ * thread, which terminates if there are no pending connects.</li>
+ * </ul>
+ *
+ * The thread pool and the selector thread are stopped when the component is deactivated.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PresenceProbeEngine.class)
+public class PresenceProbeEngine {
+    private static final int MAX_THREADS = 32;
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<?>> runningProbes = new ConcurrentHashMap<>();
+
+    private final Queue<PendingConnect> newConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+    private volatile boolean stopped;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder coalescedProbes = new LongAdder();
+    private final LongAdder probeTime = new LongAdder();
+    private volatile double probesPerSecond;
+    private volatile double averageLatency;
+    private volatile long statisticsStart = System.nanoTime();
+
+    /**
+     * A probe, usually running an external tool.
+     */
+    @FunctionalInterface
+    public interface Probe<T> {
+        T run() throws IOException, InterruptedException;
+    }
+
+    private static class PendingConnect {
+        final SocketChannel channel;
+        final CompletableFuture<PingResult> result;
+        final long start;
+        final long deadline;
+
+        PendingConnect(SocketChannel channel, CompletableFuture<PingResult> result, long start, long deadline) {
+            this.channel = channel;
+            this.result = result;
+            this.start = start;
+            this.deadline = deadline;
+        }
+    }
+
+    public PresenceProbeEngine() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "network-probe-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops the thread pool and fails all pending TCP connects.
+     */
+    @Deactivate
+    public void deactivate() {
+        stopped = true;
+        executor.shutdownNow();
+        synchronized (this) {
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+        failNewConnects(new IOException("Presence probes are stopped"));
+    }
+
+    /**
+     * @return the thread pool for probes running an external tool. It must not be shut down.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Performs a probe in the calling thread, unless a probe with the same key is already running. In that case, the
+     * result of the running probe is awaited and returned instead.
+     *
+     * @param key identifies the probe, for example the type of probe and the host address
+     * @param probe the probe
+     * @return the result of the probe
+     * @throws IOException if the probe failed
+     * @throws InterruptedException if interrupted while performing or waiting for the probe
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String key, Probe<T> probe) throws IOException, InterruptedException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?> running = runningProbes.putIfAbsent(key, result);
+        if (running != null) {
+            coalescedProbes.increment();
+            try {
+                return (T) running.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            T value = probe.run();
+            result.complete(value);
+            return value;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningProbes.remove(key, result);
+            recordProbe(start);
+        }
+    }
+
+    /**
+     * Tries to establish a TCP connection, without blocking. A connect to the same address that is already pending is
+     * shared.
+     *
+     * @param address the address and port
+     * @param timeoutInMS the connect timeout in milliseconds
+     * @return the future result, which is successful if the connection was accepted. It fails with an IOException
+     *         for unexpected errors, a refused connection or a timeout is an unsuccessful result.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<PingResult> connect(InetSocketAddress address, int timeoutInMS) {
+        String key = "tcp " + address;
+        CompletableFuture<PingResult> result = new CompletableFuture<>();
+        CompletableFuture<?> running = runningProbes.putIfAbsent(key, result);
+        if (running != null) {
+            coalescedProbes.increment();
+            return (CompletableFuture<PingResult>) running;
+        }
+        result.whenComplete((r, e) -> runningProbes.remove(key, result));
+
+        long start = System.nanoTime();
+        if (stopped) {
+            recordProbe(start);
+            result.completeExceptionally(new IOException("Presence probes are stopped"));
+            return result;
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                channel.close();
+                completeConnect(result, true, start);
+            } else {
+                newConnects.add(new PendingConnect(channel, result, start,
+                        start + TimeUnit.MILLISECONDS.toNanos(timeoutInMS)));
+                wakeUpSelector();
+            }
+        } catch (ConnectException | NoRouteToHostException e) {
+            closeQuietly(channel);
+            completeConnect(result, false, start);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            recordProbe(start);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of probes completed per second, averaged over the last minute
+     */
+    public double getProbesPerSecond() {
+        return probesPerSecond;
+    }
+
+    /**
+     * @return the average time of the probes completed in the last minute in milliseconds
+     */
+    public double getAverageLatency() {
+        return averageLatency;
+    }
+
+    private synchronized void wakeUpSelector() throws IOException {
+        if (stopped) {
+            failNewConnects(new IOException("Presence probes are stopped"));
+            return;
+        }
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        Selector newSelector = Selector.open();
+        this.selector = newSelector;
+        Thread thread = new Thread(() -> select(newSelector), "network-probe-selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the selector thread if there is nothing left to do.
+     *
+     * @return true if the selector thread is to be stopped
+     */
+    private synchronized boolean stopSelectorIfIdle(Selector selector) throws IOException {
+        if (stopped) {
+            throw new IOException("Presence probes are stopped");
+        }
+        if (!selector.keys().isEmpty() || !newConnects.isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        closeQuietly(selector);
+        return true;
+    }
+
+    private void select(Selector selector) {
+        try {
+            while (!stopSelectorIfIdle(selector)) {
+                for (PendingConnect connect = newConnects.poll(); connect != null; connect = newConnects.poll()) {
+                    try {
+                        connect.channel.register(selector, SelectionKey.OP_CONNECT, connect);
+                    } catch (IOException e) {
+                        closeQuietly(connect.channel);
+                        connect.result.completeExceptionally(e);
+                    }
+                }
+
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    if (connect.deadline - now <= 0) {
+                        key.cancel();
+                        closeQuietly(connect.channel);
+                        completeConnect(connect.result, false, connect.start);
+                    } else {
+                        nextDeadline = Math.min(nextDeadline, connect.deadline);
+                    }
+                }
+
+                if (nextDeadline == Long.MAX_VALUE) {
+                    // only cancelled keys are left, they are removed by the next selection
+                    selector.selectNow();
+                } else {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now)));
+                }
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    key.cancel();
+                    try {
+                        connect.channel.finishConnect();
+                        completeConnect(connect.result, true, connect.start);
+                    } catch (ConnectException | NoRouteToHostException e) {
+                        completeConnect(connect.result, false, connect.start);
+                    } catch (IOException e) {
+                        recordProbe(connect.start);
+                        connect.result.completeExceptionally(e);
+                    } finally {
+                        closeQuietly(connect.channel);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!stopped) {
+                logger.warn("TCP presence probes failed", e);
+            }
+            synchronized (this) {
+                this.selector = null;
+            }
+            for (SelectionKey key : selector.keys()) {
+                PendingConnect connect = (PendingConnect) key.attachment();
+                closeQuietly(connect.channel);
+                connect.result.completeExceptionally(e);
+            }
+            closeQuietly(selector);
+            // connects queued in the meantime are taken by a new selector thread
+            if (!newConnects.isEmpty()) {
+                try {
+                    wakeUpSelector();
+                } catch (IOException e1) {
+                    failNewConnects(e1);
+                }
+            }
+        }
+    }
+
+    private void failNewConnects(IOException e) {
+        for (PendingConnect connect = newConnects.poll(); connect != null; connect = newConnects.poll()) {
+            closeQuietly(connect.channel);
+            connect.result.completeExceptionally(e);
+        }
+    }
+
+    private void completeConnect(CompletableFuture<PingResult> result, boolean success, long start) {
+        recordProbe(start);
+        result.complete(new PingResult(success, (System.nanoTime() - start) / 1e6));
+    }
+
+    private void recordProbe(long start) {
+        long now = System.nanoTime();
+        probes.increment();
+        probeTime.add(now - start);
+
+        if (now - statisticsStart < STATISTICS_INTERVAL) {
+            return;
+        }
+        synchronized (probes) {
+            long interval = now - statisticsStart;
+            if (interval < STATISTICS_INTERVAL) {
+                return;
+            }
+            statisticsStart = now;
+            long count = probes.sumThenReset();
+            long time = probeTime.sumThenReset();
+            probesPerSecond = count * 1e9 / interval;
+            averageLatency = count == 0 ? 0 : time / 1e6 / count;
+            logger.debug("Presence probes: {} per second, average latency {} ms, {} coalesced, {} threads",
+                    String.format("%.2f", probesPerSecond), String.format("%.1f", averageLatency),
+                    coalescedProbes.sumThenReset(), executor.getPoolSize());
+        }
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -37,6 +38,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -57,6 +59,8 @@ public class PresenceDetectionTest {
     @Mock
     Consumer<PresenceDetectionValue> callback;
 
+    PresenceProbeEngine probeEngine;
+
     PresenceDetection subject;
 
     @Before
@@ -68,7 +72,8 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        probeEngine = spy(new PresenceProbeEngine());
+        subject = spy(new PresenceDetection(listener, probeEngine, (int) CACHETIME));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -89,28 +94,35 @@ public class PresenceDetectionTest {
     @After
     public void shutDown() {
         subject.waitForPresenceDetection();
+        probeEngine.deactivate();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertFalse(subject.detectionInProgress);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doNothing().when(subject).performARPping(any(), anyInt());
+        doNothing().when(subject).performJavaPing(anyInt());
+        doNothing().when(subject).performSystemPing(anyInt());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performServicePing(anyInt(), anyInt());
+        doReturn(executorService).when(subject).getThreadsFor(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP, the TCP connection attempt does not use a thread
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertTrue(subject.detectionInProgress);
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(2)).execute(capture.capture());
+        for (Runnable r : capture.getAllValues()) {
+            r.run();
+        }
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertFalse(subject.detectionInProgress);
     }
 
     @Test
@@ -119,15 +131,16 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(true, 10))).when(probeEngine).connect(any(),
+                anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
 
-        verify(subject, times(0)).performJavaPing();
-        verify(subject).performSystemPing();
-        verify(subject).performARPping(any());
-        verify(subject).performServicePing(anyInt());
+        verify(subject, times(0)).performJavaPing(anyInt());
+        verify(subject).performSystemPing(anyInt());
+        verify(subject).performARPping(any(), anyInt());
+        verify(subject).performServicePing(anyInt(), anyInt());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -142,7 +155,9 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        CompletableFuture<PingResult> tcpResult = new CompletableFuture<>();
+        // The connection attempt of a later presence detection does not finish in this test
+        doReturn(tcpResult, new CompletableFuture<PingResult>()).when(probeEngine).connect(any(), anyInt());
 
         doReturn(executorService).when(subject).getThreadsFor(anyInt());
 
@@ -151,16 +166,18 @@ public class PresenceDetectionTest {
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertTrue(subject.detectionInProgress);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection threads now. The TCP connection attempt does not use a thread.
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(executorService, times(2)).execute(capture.capture());
+        verify(subject).performServicePing(anyInt(), anyInt());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        tcpResult.complete(new PingResult(true, 10));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -178,6 +195,24 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void lateResultOfPreviousDetectionIsIgnored() {
+        doNothing().when(subject).performARPping(any(), anyInt());
+        doNothing().when(subject).performSystemPing(anyInt());
+        CompletableFuture<PingResult> lateResult = new CompletableFuture<>();
+        doReturn(lateResult, new CompletableFuture<PingResult>()).when(probeEngine).connect(any(), anyInt());
+
+        // The TCP check does not finish in time
+        assertTrue(subject.performPresenceDetection(true));
+        verify(listener).finalDetectionResult(any());
+
+        subject.cache.invalidateValue();
+        assertTrue(subject.performPresenceDetection(false));
+        lateResult.complete(new PingResult(true, 10));
+
+        verify(listener, never()).partialDetectionResult(any());
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
+
+/**
+ * Tests cases for {@see TcpPortSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpPortSweepTest {
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "discovery"));
+    private final PresenceProbeEngine probeEngine = new PresenceProbeEngine();
+
+    @After
+    public void shutDown() {
+        scheduler.shutdownNow();
+        probeEngine.deactivate();
+    }
+
+    @Test
+    public void openPortsAreReported() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket first = new ServerSocket(0, 50, loopback);
+                ServerSocket second = new ServerSocket(0, 50, loopback);
+                ServerSocket closed = new ServerSocket(0, 50, loopback)) {
+            int closedPort = closed.getLocalPort();
+            closed.close();
+
+            List<String> openPorts = Collections.synchronizedList(new ArrayList<>());
+            TcpPortSweep sweep = new TcpPortSweep(probeEngine, scheduler, 2, 0, 2000,
+                    Arrays.asList(loopback.getHostAddress()),
+                    Arrays.asList(first.getLocalPort(), closedPort, second.getLocalPort()),
+                    (host, port) -> openPorts.add(host + ":" + port));
+            sweep.start().get(5, TimeUnit.SECONDS);
+
+            Collections.sort(openPorts);
+            List<String> expected = new ArrayList<>(
+                    Arrays.asList(loopback.getHostAddress() + ":" + first.getLocalPort(),
+                            loopback.getHostAddress() + ":" + second.getLocalPort()));
+            Collections.sort(expected);
+            assertThat(openPorts, is(expected));
+        }
+    }
+
+    @Test
+    public void connectRateIsLimited() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(0, 50, loopback)) {
+            List<String> hosts = new ArrayList<>();
+            for (int i = 0; i < 21; i++) {
+                hosts.add(loopback.getHostAddress());
+            }
+            List<String> openPorts = Collections.synchronizedList(new ArrayList<>());
+            // 21 connects at 100 per second take at least 200 ms
+            TcpPortSweep sweep = new TcpPortSweep(probeEngine, scheduler, 256, 100, 2000, hosts,
+                    Collections.singletonList(server.getLocalPort()), (host, port) -> openPorts.add(host));
+
+            long start = System.nanoTime();
+            sweep.start().get(5, TimeUnit.SECONDS);
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(openPorts.size(), is(21));
+            assertTrue("Sweep took only " + duration + " ms", duration >= 190);
+        }
+    }
+
+    @Test
+    public void listenerIsCalledByScheduler() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(0, 50, loopback)) {
+            List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            TcpPortSweep sweep = new TcpPortSweep(probeEngine, scheduler, 2, 0, 2000,
+                    Arrays.asList(loopback.getHostAddress(), loopback.getHostAddress()),
+                    Collections.singletonList(server.getLocalPort()),
+                    (host, port) -> threads.add(Thread.currentThread().getName()));
+            sweep.start().get(5, TimeUnit.SECONDS);
+
+            assertThat(threads, is(Arrays.asList("discovery", "discovery")));
+        }
+    }
+
+    @Test
+    public void emptySweepFinishesImmediately() throws Exception {
+        TcpPortSweep sweep = new TcpPortSweep(probeEngine, scheduler, 1, 1, 500,
+                Collections.emptyList(), Arrays.asList(80, 443), (host, port) -> fail());
+        assertTrue(sweep.start().isDone());
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the shared probe engine.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+
+    private final PresenceProbeEngine engine = new PresenceProbeEngine();
+
+    @After
+    public void shutDown() {
+        engine.deactivate();
+    }
+
+    @Test
+    public void connectToOpenAndClosedPortTest() throws Exception {
+        InetSocketAddress open;
+        InetSocketAddress closed;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+                ServerSocket unused = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            open = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            closed = new InetSocketAddress(InetAddress.getLoopbackAddress(), unused.getLocalPort());
+            unused.close();
+
+            List<CompletableFuture<PingResult>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(engine.connect(i % 2 == 0 ? open : closed, 2000));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                PingResult result = results.get(i).get(5, TimeUnit.SECONDS);
+                Assert.assertEquals(i % 2 == 0, result.isSuccess());
+            }
+        }
+    }
+
+    @Test
+    public void coalesceConcurrentProbesTest() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(engine.getExecutor().submit(() -> engine.coalesce("icmp host", () -> {
+            probes.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "reachable";
+        })));
+        started.await();
+        for (int i = 0; i < 3; i++) {
+            results.add(engine.getExecutor().submit(() -> engine.coalesce("icmp host", () -> {
+                probes.incrementAndGet();
+                return "second probe";
+            })));
+        }
+        // wait for the other probes to join the running one
+        Thread.sleep(500);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assert.assertEquals("reachable", result.get(5, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(1, probes.get());
+
+        // a probe started after the first one finished is performed again
+        Assert.assertEquals("again", engine.coalesce("icmp host", () -> "again"));
+    }
+
+    @Test
+    public void probesFailAfterDeactivateTest() throws Exception {
+        engine.deactivate();
+
+        Assert.assertTrue(engine.getExecutor().isShutdown());
+        try {
+            engine.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), 80), 2000).get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertEquals("Presence probes are stopped", e.getCause().getMessage());
+        }
+    }
+}
@@ -90,10 +90,13 @@ public class ConfigStore {
     private @Nullable ScheduledFuture<?> pairingOffFuture;
     private @Nullable ScheduledFuture<?> writeUUIDFuture;
 
+    private final LightsJsonCache lightsJsonCache = new LightsJsonCache();
+
     /**
      * This is the main gson instance, to be obtained by all components that operate on the dto data fields
      */
     public final Gson gson = new GsonBuilder().registerTypeAdapter(HueLightEntry.class, new HueLightEntry.Serializer())
+            .registerTypeAdapterFactory(lightsJsonCache)
             .registerTypeAdapter(HueSensorEntry.class, new HueSensorEntry.Serializer())
             .registerTypeAdapter(HueRuleEntry.Condition.class, new HueRuleEntry.SerializerCondition())
             .registerTypeAdapter(HueAuthorizedConfig.class, new HueAuthorizedConfig.Serializer())
@@ -329,6 +332,13 @@ public class ConfigStore {
         return highestAssignedHueID;
     }
 
+    /**
+     * Returns the serialized lights of the data store. Only lights that changed since the last call are serialized.
+     */
+    public LightsJsonCache.Snapshot getLightsSnapshot() {
+        return lightsJsonCache.getSnapshot(ds.lights, gson);
+    }
+
     /**
      * Sets the link button state.
      *
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Keeps the serialized json of the hue lights. Hue clients like Alexa or a Harmony hub poll all lights and the full
+ * state every few seconds, but usually only a few lights change in between. A light is therefore only serialized
+ * again if its item, the item state or label or the last hue command has changed.
+ * <p>
+ * Every change of a light or of the set of lights results in a new {@link Snapshot} with a new ETag.
+ * <p>
+ * This is also a gson type adapter factory for the lights of the
+ * {@link org.openhab.io.hueemulation.internal.dto.HueDataStore}, so that the full state contains the cached lights.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LightsJsonCache implements TypeAdapterFactory {
+    private static final Type LIGHTS_TYPE = new TypeToken<TreeMap<String, HueLightEntry>>() {
+    }.getType();
+
+    /**
+     * The serialized lights
+     */
+    public static class Snapshot {
+        public final String etag;
+        public final String json;
+        public final byte[] bytes;
+
+        Snapshot(String etag, String json) {
+            this.etag = etag;
+            this.json = json;
+            this.bytes = json.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The serialized light together with everything the serialization depends on
+     */
+    private static class Fragment {
+        final HueLightEntry light;
+        final GenericItem item;
+        final State state;
+        final @Nullable String label;
+        final @Nullable Command lastCommand;
+        final @Nullable HueStateChange lastHueChange;
+        final String json;
+
+        Fragment(HueLightEntry light, Gson gson) {
+            this.light = light;
+            this.item = light.item;
+            this.state = light.item.getState();
+            this.label = light.item.getLabel();
+            this.lastCommand = light.lastCommand;
+            this.lastHueChange = light.lastHueChange;
+            // The state is taken before serializing, so a state change in between leads to another serialization
+            this.json = gson.toJson(light, HueLightEntry.class);
+        }
+
+        boolean isUpToDate(HueLightEntry light) {
+            return this.light == light && item == light.item && state == light.item.getState()
+                    && Objects.equals(label, light.item.getLabel()) && lastCommand == light.lastCommand
+                    && lastHueChange == light.lastHueChange;
+        }
+    }
+
+    // Distinguishes the ETags of this instance from those before a restart
+    private final String instanceTag = Integer.toHexString(new Random().nextInt());
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private List<Fragment> snapshotFragments = Collections.emptyList();
+    private @Nullable Snapshot snapshot;
+    private long version = 0;
+
+    /**
+     * Returns the serialized lights. Only lights that changed since the last call are serialized.
+     *
+     * @param lights The lights by hue ID
+     * @param gson The gson instance with the {@link HueLightEntry.Serializer}
+     */
+    public synchronized Snapshot getSnapshot(Map<String, HueLightEntry> lights, Gson gson) {
+        Snapshot snapshot = this.snapshot;
+        boolean changed = snapshot == null || lights.size() != snapshotFragments.size();
+        List<Fragment> usedFragments = new ArrayList<>(lights.size());
+        for (Map.Entry<String, HueLightEntry> entry : lights.entrySet()) {
+            HueLightEntry light = entry.getValue();
+            Fragment fragment = fragments.get(entry.getKey());
+            if (fragment == null || !fragment.isUpToDate(light)) {
+                fragment = new Fragment(light, gson);
+                fragments.put(entry.getKey(), fragment);
+            }
+            changed |= usedFragments.size() >= snapshotFragments.size()
+                    || snapshotFragments.get(usedFragments.size()) != fragment;
+            usedFragments.add(fragment);
+        }
+        if (!changed && snapshot != null) {
+            return snapshot;
+        }
+
+        fragments.keySet().retainAll(lights.keySet());
+        StringBuilder json = new StringBuilder("{");
+        int i = 0;
+        for (String hueID : lights.keySet()) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(gson.toJson(hueID)).append(':').append(usedFragments.get(i++).json);
+        }
+        json.append('}');
+
+        snapshot = new Snapshot(instanceTag + "-" + (++version), json.toString());
+        this.snapshot = snapshot;
+        snapshotFragments = usedFragments;
+        return snapshot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable TypeAdapter<T> create(@Nullable Gson gson, @Nullable TypeToken<T> type) {
+        if (gson == null || type == null || !LIGHTS_TYPE.equals(type.getType())) {
+            return null;
+        }
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return (TypeAdapter<T>) new TypeAdapter<Map<String, HueLightEntry>>() {
+            @Override
+            public void write(@Nullable JsonWriter out, @Nullable Map<String, HueLightEntry> lights)
+                    throws IOException {
+                if (out == null) {
+                    return;
+                }
+                if (lights == null) {
+                    out.nullValue();
+                } else {
+                    out.jsonValue(getSnapshot(lights, gson).json);
+                }
+            }
+
+            @Override
+            public @Nullable Map<String, HueLightEntry> read(@Nullable JsonReader in) throws IOException {
+                return (Map<String, HueLightEntry>) delegate.read(in);
+            }
+        };
+    }
+}
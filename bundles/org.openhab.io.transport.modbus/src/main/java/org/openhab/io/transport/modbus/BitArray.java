@@ -101,6 +101,21 @@ public class BitArray implements Iterable<Boolean> {
         }
     }
 
+    /**
+     * Return a new bit array containing the given range of bits
+     *
+     * @param index index of the first bit to include
+     * @param length number of bits to include
+     * @return bit array with the requested bits
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public BitArray slice(int index, int length) {
+        if (index < 0 || length < 0 || index + length > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new BitArray(wrapped.get(index, index + length), length);
+    }
+
     /**
      * Get number of bits stored in this instance
      *
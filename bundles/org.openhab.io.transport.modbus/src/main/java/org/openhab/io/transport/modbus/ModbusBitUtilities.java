@@ -13,9 +13,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -101,6 +98,32 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        ModbusNumber number = new ModbusNumber();
+        if (extractNumberFromRegisters(registers, index, type, number)) {
+            return Optional.of(number.toDecimalType());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Read data from registers into caller-supplied holder
+     *
+     * The registers are interpreted exactly like with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)} but the extraction
+     * does not allocate any objects. This allows the caller to decode the data on every poll, and construct the
+     * state objects only when needed, e.g. when the value has changed.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters}
+     * @param type item type, e.g. unsigned 16bit integer (<tt>ModbusBindingProvider.ValueType.UINT16</tt>)
+     * @param number holder receiving the extracted number
+     * @return true when the number was extracted. False is returned with NaN and infinity floating point values, in
+     *         which case the contents of <tt>number</tt> are undefined.
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static boolean extractNumberFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type, ModbusNumber number) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -111,107 +134,73 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                number.setLong((unsignedRegister(registers, index / 16) >> (index % 16)) & 1);
+                return true;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                number.setLong((byte) (unsignedRegister(registers, index / 2) >> (8 * (index % 2))));
+                return true;
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                number.setLong((unsignedRegister(registers, index / 2) >> (8 * (index % 2))) & 0xff);
+                return true;
+            case INT16:
+                number.setLong((short) unsignedRegister(registers, index));
+                return true;
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                number.setLong(unsignedRegister(registers, index));
+                return true;
+            case INT32:
+                number.setLong((int) bigEndian(registers, index, index + 1));
+                return true;
+            case UINT32:
+                number.setLong(bigEndian(registers, index, index + 1));
+                return true;
+            case FLOAT32:
+                return setFloat(number, Float.intBitsToFloat((int) bigEndian(registers, index, index + 1)));
+            case INT64:
+                number.setLong(bigEndian(registers, index, index + 1, index + 2, index + 3));
+                return true;
+            case UINT64:
+                number.setUnsignedLong(bigEndian(registers, index, index + 1, index + 2, index + 3));
+                return true;
+            case INT32_SWAP:
+                number.setLong((int) bigEndian(registers, index + 1, index));
+                return true;
+            case UINT32_SWAP:
+                number.setLong(bigEndian(registers, index + 1, index));
+                return true;
+            case FLOAT32_SWAP:
+                return setFloat(number, Float.intBitsToFloat((int) bigEndian(registers, index + 1, index)));
+            case INT64_SWAP:
+                number.setLong(bigEndian(registers, index + 3, index + 2, index + 1, index));
+                return true;
+            case UINT64_SWAP:
+                number.setUnsignedLong(bigEndian(registers, index + 3, index + 2, index + 1, index));
+                return true;
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    private static long unsignedRegister(ModbusRegisterArray registers, int index) {
+        return registers.getRegister(index).toUnsignedShort();
+    }
+
+    private static long bigEndian(ModbusRegisterArray registers, int high, int low) {
+        return unsignedRegister(registers, high) << 16 | unsignedRegister(registers, low);
+    }
+
+    private static long bigEndian(ModbusRegisterArray registers, int first, int second, int third, int fourth) {
+        return bigEndian(registers, first, second) << 32 | bigEndian(registers, third, fourth);
+    }
+
+    private static boolean setFloat(ModbusNumber number, float value) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return false;
+        }
+        number.setDouble(value);
+        return true;
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
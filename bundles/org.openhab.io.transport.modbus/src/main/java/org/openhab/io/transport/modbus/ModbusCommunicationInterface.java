@@ -15,6 +15,8 @@ package org.openhab.io.transport.modbus;
 import java.util.concurrent.Future;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.EndpointQueueStatistics;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 
 /**
@@ -82,6 +84,20 @@ public interface ModbusCommunicationInterface extends AutoCloseable {
      */
     public boolean unregisterRegularPoll(PollTask task);
 
+    /**
+     * Change the poll interval of regularly polled task
+     *
+     * Unlike unregistering and registering the poll task again, ongoing poll of the task is not interrupted. Other poll
+     * tasks coalesced with the task are only affected if they are polled in the same request as the task.
+     *
+     * @param task poll task registered with {@link #registerRegularPoll}
+     * @param pollPeriodMillis new poll interval, in milliseconds
+     * @param initialDelayMillis initial delay before starting polling with the new interval, in milliseconds
+     * @return whether poll interval was changed. The interval is not changed in case the poll task is not registered
+     *         with this communication interface, or the communication interface is closed already.
+     */
+    public boolean changeRegularPollPeriod(PollTask task, long pollPeriodMillis, long initialDelayMillis);
+
     /**
      * Submit one-time write task. The method returns immediately, and the execution of the task will happen in
      * background.
@@ -95,6 +111,24 @@ public interface ModbusCommunicationInterface extends AutoCloseable {
     public Future<?> submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
             ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback);
 
+    /**
+     * Get statistics of the task queue of the endpoint
+     *
+     * The queue is shared by all communication interfaces pointing to the same endpoint.
+     *
+     * @return current statistics of the endpoint task queue
+     */
+    public EndpointQueueStatistics getQueueStatistics();
+
+    /**
+     * Get communication metrics of the endpoint
+     *
+     * Like the task queue, the metrics are shared by all communication interfaces pointing to the same endpoint.
+     *
+     * @return snapshot of the endpoint metrics
+     */
+    public EndpointMetrics getMetrics();
+
     /**
      * Close this communication interface and try to free all resources associated with it
      *
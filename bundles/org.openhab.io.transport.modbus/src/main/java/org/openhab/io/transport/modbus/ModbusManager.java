@@ -12,8 +12,11 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 
@@ -46,4 +49,16 @@ public interface ModbusManager {
      * @return general connection settings of the given endpoint
      */
     public @Nullable EndpointPoolConfiguration getEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint);
+
+    /**
+     * Get communication metrics of all endpoints with open communication interfaces
+     *
+     * @return snapshot of the metrics, by endpoint
+     */
+    public Map<ModbusSlaveEndpoint, EndpointMetrics> getEndpointMetrics();
+
+    /**
+     * Reset communication metrics of all endpoints
+     */
+    public void resetEndpointMetrics();
 }
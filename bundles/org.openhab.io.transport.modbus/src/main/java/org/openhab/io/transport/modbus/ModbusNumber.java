@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+
+/**
+ * Mutable holder for a number extracted from registers, see {@link ModbusBitUtilities#extractNumberFromRegisters}
+ *
+ * The number is represented with primitives, allowing the caller to reuse the same instance for every poll. Integer
+ * types are stored as <code>long</code>, floating point types as <code>double</code>. Unsigned 64 bit integers
+ * are stored as the raw bits of the <code>long</code>.
+ *
+ * Instances are not thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusNumber {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private boolean floatingPoint;
+    private boolean unsigned64;
+    private long longValue;
+    private double doubleValue;
+
+    void setLong(long value) {
+        floatingPoint = false;
+        unsigned64 = false;
+        longValue = value;
+    }
+
+    void setUnsignedLong(long bits) {
+        floatingPoint = false;
+        unsigned64 = true;
+        longValue = bits;
+    }
+
+    void setDouble(double value) {
+        floatingPoint = true;
+        unsigned64 = false;
+        doubleValue = value;
+    }
+
+    /**
+     * Whether the number was extracted from floating point value type
+     */
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    /**
+     * Get the number as long. Floating point values are truncated, unsigned 64 bit values exceeding
+     * {@link Long#MAX_VALUE} are returned as negative numbers having the same bits.
+     *
+     * @return number as long
+     */
+    public long longValue() {
+        return floatingPoint ? (long) doubleValue : longValue;
+    }
+
+    /**
+     * Get the number as double
+     *
+     * @return number as double
+     */
+    public double doubleValue() {
+        if (floatingPoint) {
+            return doubleValue;
+        } else if (unsigned64 && longValue < 0) {
+            // Halve the value keeping the least significant bit as sticky bit, so that rounding is correct
+            return (double) ((longValue >>> 1) | (longValue & 1)) * 2.0;
+        } else {
+            return longValue;
+        }
+    }
+
+    /**
+     * Whether the number is zero
+     */
+    public boolean isZero() {
+        return floatingPoint ? doubleValue == 0.0 : longValue == 0L;
+    }
+
+    /**
+     * Compare the represented number with another holder
+     *
+     * @param other other holder
+     * @return true when both holders represent the same number, extracted using the same kind of value type
+     */
+    public boolean valueEquals(ModbusNumber other) {
+        if (floatingPoint != other.floatingPoint || unsigned64 != other.unsigned64) {
+            return false;
+        }
+        return floatingPoint ? Double.compare(doubleValue, other.doubleValue) == 0 : longValue == other.longValue;
+    }
+
+    /**
+     * Copy the number represented by another holder to this holder
+     *
+     * @param other holder to copy from
+     */
+    public void copyFrom(ModbusNumber other) {
+        floatingPoint = other.floatingPoint;
+        unsigned64 = other.unsigned64;
+        longValue = other.longValue;
+        doubleValue = other.doubleValue;
+    }
+
+    /**
+     * Convert the number to DecimalType
+     *
+     * @return new DecimalType representing the number
+     */
+    public DecimalType toDecimalType() {
+        if (floatingPoint) {
+            return new DecimalType(doubleValue);
+        } else if (unsigned64 && longValue < 0) {
+            return new DecimalType(new BigDecimal(new BigInteger(Long.toUnsignedString(longValue))));
+        } else {
+            return new DecimalType(longValue);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle)
+                .append("value", floatingPoint ? Double.toString(doubleValue)
+                        : (unsigned64 ? Long.toUnsignedString(longValue) : Long.toString(longValue)))
+                .append("floatingPoint", floatingPoint).toString();
+    }
+}
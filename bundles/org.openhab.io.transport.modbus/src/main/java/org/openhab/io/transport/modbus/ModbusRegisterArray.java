@@ -12,6 +12,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.IntStream;
 
@@ -73,6 +74,21 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
         return registers[index];
     }
 
+    /**
+     * Return a new register array containing the given range of registers
+     *
+     * @param index index of the first register to include
+     * @param length number of registers to include
+     * @return register array with the requested registers
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public ModbusRegisterArray slice(int index, int length) {
+        if (index < 0 || length < 0 || index + length > registers.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new ModbusRegisterArray(Arrays.copyOfRange(registers, index, index + length));
+    }
+
     /**
      * Get number of registers stored in this instance
      *
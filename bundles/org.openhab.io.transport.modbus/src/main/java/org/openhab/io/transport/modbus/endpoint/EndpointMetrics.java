@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.endpoint;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of the communication metrics of a single endpoint
+ *
+ * The counters are cumulative since the metrics were last reset. Pool statistics reflect the state of the connection
+ * pool at the time the snapshot was taken.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetrics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long successfulTransactions;
+    private final LatencyHistogram transactionLatency;
+    private final LatencyHistogram connectionBorrowTime;
+    private final LatencyHistogram interTransactionWait;
+    private final long connectionErrors;
+    private final long ioErrors;
+    private final long timeouts;
+    private final Map<Integer, Long> slaveErrorsByExceptionCode;
+    private final long unexpectedTransactionIds;
+    private final long unexpectedResponses;
+    private final int poolActive;
+    private final int poolIdle;
+
+    public EndpointMetrics(long successfulTransactions, LatencyHistogram transactionLatency,
+            LatencyHistogram connectionBorrowTime, LatencyHistogram interTransactionWait, long connectionErrors,
+            long ioErrors, long timeouts, Map<Integer, Long> slaveErrorsByExceptionCode, long unexpectedTransactionIds,
+            long unexpectedResponses, int poolActive, int poolIdle) {
+        this.successfulTransactions = successfulTransactions;
+        this.transactionLatency = transactionLatency;
+        this.connectionBorrowTime = connectionBorrowTime;
+        this.interTransactionWait = interTransactionWait;
+        this.connectionErrors = connectionErrors;
+        this.ioErrors = ioErrors;
+        this.timeouts = timeouts;
+        this.slaveErrorsByExceptionCode = Collections.unmodifiableMap(new TreeMap<>(slaveErrorsByExceptionCode));
+        this.unexpectedTransactionIds = unexpectedTransactionIds;
+        this.unexpectedResponses = unexpectedResponses;
+        this.poolActive = poolActive;
+        this.poolIdle = poolIdle;
+    }
+
+    /**
+     * Number of transactions that received a valid response
+     */
+    public long getSuccessfulTransactions() {
+        return successfulTransactions;
+    }
+
+    /**
+     * Duration of successful transactions, from sending the request to receiving the response
+     */
+    public LatencyHistogram getTransactionLatency() {
+        return transactionLatency;
+    }
+
+    /**
+     * Time spent waiting for a connection from the connection pool, including connection establishment
+     */
+    public LatencyHistogram getConnectionBorrowTime() {
+        return connectionBorrowTime;
+    }
+
+    /**
+     * Time slept to guarantee <tt>interTransactionDelayMillis</tt> between transactions
+     */
+    public LatencyHistogram getInterTransactionWait() {
+        return interTransactionWait;
+    }
+
+    /**
+     * Number of times a connection could not be established
+     */
+    public long getConnectionErrors() {
+        return connectionErrors;
+    }
+
+    /**
+     * Number of transactions failing with I/O error, including timeouts
+     */
+    public long getIoErrors() {
+        return ioErrors;
+    }
+
+    /**
+     * Number of transactions that were detected to time out
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Number of exception responses received from the slave, by Modbus exception code
+     */
+    public Map<Integer, Long> getSlaveErrorsByExceptionCode() {
+        return slaveErrorsByExceptionCode;
+    }
+
+    /**
+     * Number of responses with transaction id not matching the request
+     */
+    public long getUnexpectedTransactionIds() {
+        return unexpectedTransactionIds;
+    }
+
+    /**
+     * Number of responses with function code or size not matching the request
+     */
+    public long getUnexpectedResponses() {
+        return unexpectedResponses;
+    }
+
+    /**
+     * Number of connections borrowed from the pool
+     */
+    public int getPoolActive() {
+        return poolActive;
+    }
+
+    /**
+     * Number of idle connections in the pool
+     */
+    public int getPoolIdle() {
+        return poolIdle;
+    }
+
+    /**
+     * Flatten the metrics to name-value pairs, suitable for exporting to metrics registries
+     *
+     * Histogram buckets are cumulative, i.e. the value of <tt>transactionLatency.le.100</tt> is the number of
+     * transactions taking at most 100 milliseconds.
+     *
+     * @return metrics by name, in stable order
+     */
+    public Map<String, Number> toMap() {
+        Map<String, Number> map = new LinkedHashMap<>();
+        map.put("successfulTransactions", successfulTransactions);
+        putHistogram(map, "transactionLatency", transactionLatency);
+        putHistogram(map, "connectionBorrowTime", connectionBorrowTime);
+        putHistogram(map, "interTransactionWait", interTransactionWait);
+        map.put("connectionErrors", connectionErrors);
+        map.put("ioErrors", ioErrors);
+        map.put("timeouts", timeouts);
+        slaveErrorsByExceptionCode.forEach((code, count) -> map.put("slaveErrors.code." + code, count));
+        map.put("unexpectedTransactionIds", unexpectedTransactionIds);
+        map.put("unexpectedResponses", unexpectedResponses);
+        map.put("pool.active", poolActive);
+        map.put("pool.idle", poolIdle);
+        return map;
+    }
+
+    private static void putHistogram(Map<String, Number> map, String name, LatencyHistogram histogram) {
+        long[] upperBounds = histogram.getBucketUpperBoundsMillis();
+        long[] counts = histogram.getBucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += counts[i];
+            map.put(name + ".le." + upperBounds[i], cumulative);
+        }
+        map.put(name + ".count", histogram.getCount());
+        map.put(name + ".totalMillis", histogram.getTotalMillis());
+        map.put(name + ".maxMillis", histogram.getMaxMillis());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("successfulTransactions", successfulTransactions)
+                .append("transactionLatency", transactionLatency).append("connectionBorrowTime", connectionBorrowTime)
+                .append("interTransactionWait", interTransactionWait).append("connectionErrors", connectionErrors)
+                .append("ioErrors", ioErrors).append("timeouts", timeouts)
+                .append("slaveErrorsByExceptionCode", slaveErrorsByExceptionCode)
+                .append("unexpectedTransactionIds", unexpectedTransactionIds)
+                .append("unexpectedResponses", unexpectedResponses).append("poolActive", poolActive)
+                .append("poolIdle", poolIdle).toString();
+    }
+}
@@ -19,6 +19,8 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
+import net.wimpi.modbus.Modbus;
+
 /**
  * Class representing pooling related configuration of a single endpoint
  *
@@ -61,6 +63,30 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * Whether regular polls with the same unit id, function code and poll period should be merged into fewer
+     * requests. Disabled by default.
+     */
+    private boolean coalescePolls;
+
+    /**
+     * Maximum number of unrequested registers (or bits) allowed between two polls for them to be merged into single
+     * request. Effective only when poll coalescing is enabled.
+     */
+    private int coalescingMaxGap;
+
+    /**
+     * How many requests can be sent over the connection before waiting for the responses. Values above one enable
+     * pipelining of requests, supported only with TCP endpoints. Default of one means strict request-response
+     * communication.
+     */
+    private int pipelineDepth = 1;
+
+    /**
+     * How long to wait for the response of a pipelined request. In milliseconds.
+     */
+    private long pipelineTimeoutMillis = Modbus.DEFAULT_TIMEOUT;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -107,10 +133,44 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getCoalescingMaxGap() {
+        return coalescingMaxGap;
+    }
+
+    public void setCoalescingMaxGap(int coalescingMaxGap) {
+        this.coalescingMaxGap = coalescingMaxGap;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public long getPipelineTimeoutMillis() {
+        return pipelineTimeoutMillis;
+    }
+
+    public void setPipelineTimeoutMillis(long pipelineTimeoutMillis) {
+        this.pipelineTimeoutMillis = pipelineTimeoutMillis;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(coalescePolls).append(coalescingMaxGap).append(pipelineDepth).append(pipelineTimeoutMillis)
+                .toHashCode();
     }
 
     @Override
@@ -119,7 +179,9 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis).append("coalescePolls", coalescePolls)
+                .append("coalescingMaxGap", coalescingMaxGap).append("pipelineDepth", pipelineDepth)
+                .append("pipelineTimeoutMillis", pipelineTimeoutMillis).toString();
     }
 
     @Override
@@ -137,6 +199,8 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).append(coalescePolls, rhs.coalescePolls)
+                .append(coalescingMaxGap, rhs.coalescingMaxGap).append(pipelineDepth, rhs.pipelineDepth)
+                .append(pipelineTimeoutMillis, rhs.pipelineTimeoutMillis).isEquals();
     }
 }
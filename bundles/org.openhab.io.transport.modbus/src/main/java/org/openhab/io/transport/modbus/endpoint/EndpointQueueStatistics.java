@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.endpoint;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of the task queue statistics of a single endpoint
+ *
+ * Latency refers to the time the task waited in the queue before execution started.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointQueueStatistics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final int queueSize;
+    private final long executedTasks;
+    private final long droppedPolls;
+    private final long lastLatencyMillis;
+    private final long maxLatencyMillis;
+    private final long averageLatencyMillis;
+
+    public EndpointQueueStatistics(int queueSize, long executedTasks, long droppedPolls, long lastLatencyMillis,
+            long maxLatencyMillis, long averageLatencyMillis) {
+        this.queueSize = queueSize;
+        this.executedTasks = executedTasks;
+        this.droppedPolls = droppedPolls;
+        this.lastLatencyMillis = lastLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.averageLatencyMillis = averageLatencyMillis;
+    }
+
+    /**
+     * Number of tasks waiting for execution
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Number of tasks taken into execution
+     */
+    public long getExecutedTasks() {
+        return executedTasks;
+    }
+
+    /**
+     * Number of polls that were not queued since identical poll was waiting in the queue already
+     */
+    public long getDroppedPolls() {
+        return droppedPolls;
+    }
+
+    /**
+     * Queue latency of the most recently executed task, in milliseconds
+     */
+    public long getLastLatencyMillis() {
+        return lastLatencyMillis;
+    }
+
+    /**
+     * Maximum queue latency observed, in milliseconds
+     */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /**
+     * Average queue latency of all executed tasks, in milliseconds
+     */
+    public long getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("queueSize", queueSize)
+                .append("executedTasks", executedTasks).append("droppedPolls", droppedPolls)
+                .append("lastLatencyMillis", lastLatencyMillis).append("maxLatencyMillis", maxLatencyMillis)
+                .append("averageLatencyMillis", averageLatencyMillis).toString();
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.endpoint;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of a histogram of durations
+ *
+ * The histogram has fixed buckets. Bucket <tt>i</tt> counts the durations less than or equal to
+ * <tt>getBucketUpperBoundsMillis()[i]</tt> (and greater than the upper bound of the previous bucket). The last bucket
+ * has no upper bound, and counts all the durations exceeding the largest upper bound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyHistogram {
+
+    private final long[] bucketUpperBoundsMillis;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long totalMillis;
+    private final long maxMillis;
+
+    /**
+     * @param bucketUpperBoundsMillis upper bounds of the buckets, in ascending order
+     * @param bucketCounts number of durations in each bucket. Length should be one more than the number of upper
+     *            bounds, the last bucket counting the durations exceeding all bounds
+     * @param totalMillis sum of all durations, in milliseconds
+     * @param maxMillis maximum duration, in milliseconds
+     * @throws IllegalArgumentException when the number of bucket counts does not match the upper bounds
+     */
+    public LatencyHistogram(long[] bucketUpperBoundsMillis, long[] bucketCounts, long totalMillis, long maxMillis) {
+        if (bucketCounts.length != bucketUpperBoundsMillis.length + 1) {
+            throw new IllegalArgumentException(String.format("Expecting %d bucket counts, got %d",
+                    bucketUpperBoundsMillis.length + 1, bucketCounts.length));
+        }
+        this.bucketUpperBoundsMillis = bucketUpperBoundsMillis.clone();
+        this.bucketCounts = bucketCounts.clone();
+        this.count = Arrays.stream(bucketCounts).sum();
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Get upper bounds of the buckets, in milliseconds
+     *
+     * @return copy of the upper bounds
+     */
+    public long[] getBucketUpperBoundsMillis() {
+        return bucketUpperBoundsMillis.clone();
+    }
+
+    /**
+     * Get number of durations in each bucket
+     *
+     * @return copy of the counts, one more than there are upper bounds
+     */
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+
+    /**
+     * Number of durations recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Sum of all durations recorded, in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Maximum duration recorded, in milliseconds
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Average duration, in milliseconds
+     */
+    public long getAverageMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder("LatencyHistogram(count=").append(count).append(", avg=")
+                .append(getAverageMillis()).append(", max=").append(maxMillis).append(", buckets=[");
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            if (i < bucketUpperBoundsMillis.length) {
+                buffer.append("<=").append(bucketUpperBoundsMillis[i]);
+            } else {
+                buffer.append('>').append(bucketUpperBoundsMillis.length == 0 ? 0
+                        : bucketUpperBoundsMillis[bucketUpperBoundsMillis.length - 1]);
+            }
+            buffer.append(": ").append(bucketCounts[i]);
+        }
+        return buffer.append("])").toString();
+    }
+}
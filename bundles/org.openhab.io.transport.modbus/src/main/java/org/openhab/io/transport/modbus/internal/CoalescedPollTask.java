@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.exception.ModbusSlaveErrorResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} reading the union of several member poll tasks with single request.
+ *
+ * The response is sliced and passed to the callbacks of each member, with the original request of the member.
+ * Similarly, failures are reported to all members. As an exception, when the slave rejects the addresses of a request
+ * merged from several members (e.g. since the gap between the members is not readable), the failure is passed to the
+ * illegal address handler instead, giving the caller the chance to poll the members separately.
+ *
+ * Two coalesced poll tasks are equal only if they are the same instance.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final ModbusReadCallback resultCallback = this::handleResult;
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = this::handleFailure;
+    private final @Nullable Consumer<CoalescedPollTask> illegalAddressHandler;
+
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request,
+            List<PollTask> members) {
+        this(endpoint, request, members, null);
+    }
+
+    /**
+     * @param endpoint endpoint of the members
+     * @param request request covering the requests of all members
+     * @param members member poll tasks
+     * @param illegalAddressHandler handler called instead of the failure callbacks of the members, when the slave
+     *            responds with {@link ModbusSlaveErrorResponseException#ILLEGAL_DATA_ACCESS} to a request merged from
+     *            several members
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request, List<PollTask> members,
+            @Nullable Consumer<CoalescedPollTask> illegalAddressHandler) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+        this.illegalAddressHandler = illegalAddressHandler;
+    }
+
+    /**
+     * Get the poll tasks served by this task
+     *
+     * @return member poll tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    /**
+     * Whether the other task reads the same data on behalf of the same members
+     *
+     * @param other other coalesced poll task
+     * @return true if the other task has equal request and members
+     */
+    public boolean hasSameRequestAndMembers(CoalescedPollTask other) {
+        return request.equals(other.request) && members.equals(other.members);
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getResultCallback() {
+        return resultCallback;
+    }
+
+    @Override
+    public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+        return failureCallback;
+    }
+
+    private void handleResult(AsyncModbusReadResult result) {
+        for (PollTask member : members) {
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            int offset = memberRequest.getReference() - request.getReference();
+            int length = memberRequest.getDataLength();
+            AsyncModbusReadResult memberResult;
+            if (result.getRegisters().isPresent()) {
+                memberResult = new AsyncModbusReadResult(memberRequest,
+                        result.getRegisters().get().slice(offset, length));
+            } else if (result.getBits().isPresent()) {
+                memberResult = new AsyncModbusReadResult(memberRequest, result.getBits().get().slice(offset, length));
+            } else {
+                continue;
+            }
+            try {
+                member.getResultCallback().handle(memberResult);
+            } catch (RuntimeException e) {
+                // Make sure that one misbehaving callback does not prevent others from receiving the data
+                logger.warn("Result callback of coalesced poll task member {} failed unexpectedly", member, e);
+            }
+        }
+    }
+
+    private void handleFailure(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        Exception cause = failure.getCause();
+        Consumer<CoalescedPollTask> localIllegalAddressHandler = illegalAddressHandler;
+        if (localIllegalAddressHandler != null && members.size() > 1
+                && cause instanceof ModbusSlaveErrorResponseException
+                && ((ModbusSlaveErrorResponseException) cause)
+                        .getExceptionCode() == ModbusSlaveErrorResponseException.ILLEGAL_DATA_ACCESS) {
+            localIllegalAddressHandler.accept(this);
+            return;
+        }
+        for (PollTask member : members) {
+            try {
+                member.getFailureCallback()
+                        .handle(new AsyncModbusFailure<>(member.getRequest(), cause));
+            } catch (RuntimeException e) {
+                logger.warn("Failure callback of coalesced poll task member {} failed unexpectedly", member, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+}
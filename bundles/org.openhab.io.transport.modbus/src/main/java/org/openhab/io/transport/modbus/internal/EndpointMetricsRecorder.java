@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.LatencyHistogram;
+
+import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
+import net.wimpi.modbus.net.UDPMasterConnection;
+
+/**
+ * Thread-safe recorder of the communication metrics of a single endpoint
+ *
+ * Recording is cheap and lock-free, allowing it to be called on every transaction. Use {@link #snapshot(int, int)}
+ * to read the metrics.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetricsRecorder {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = new long[] { 5, 10, 25, 50, 100, 250, 500, 1000, 2500,
+            5000 };
+
+    /**
+     * Lock-free histogram with fixed buckets
+     */
+    static class HistogramRecorder {
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        void record(long millis) {
+            int bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS_MILLIS.length && millis > BUCKET_UPPER_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            bucketCounts.incrementAndGet(bucket);
+            totalMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        LatencyHistogram snapshot() {
+            long[] counts = new long[bucketCounts.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = bucketCounts.get(i);
+            }
+            return new LatencyHistogram(BUCKET_UPPER_BOUNDS_MILLIS, counts, totalMillis.sum(), maxMillis.get());
+        }
+    }
+
+    private final LongAdder successfulTransactions = new LongAdder();
+    private final HistogramRecorder transactionLatency = new HistogramRecorder();
+    private final HistogramRecorder connectionBorrowTime = new HistogramRecorder();
+    private final HistogramRecorder interTransactionWait = new HistogramRecorder();
+    private final LongAdder connectionErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final Map<Integer, LongAdder> slaveErrors = new ConcurrentHashMap<>();
+    private final LongAdder unexpectedTransactionIds = new LongAdder();
+    private final LongAdder unexpectedResponses = new LongAdder();
+
+    /**
+     * Record successful transaction
+     *
+     * @param latencyMillis time from sending the request to receiving the response
+     */
+    public void recordSuccess(long latencyMillis) {
+        successfulTransactions.increment();
+        transactionLatency.record(latencyMillis);
+    }
+
+    /**
+     * Record time spent on borrowing connection from the pool
+     *
+     * @param millis time spent
+     * @param success whether connection was received
+     */
+    public void recordConnectionBorrow(long millis, boolean success) {
+        connectionBorrowTime.record(millis);
+        if (!success) {
+            connectionErrors.increment();
+        }
+    }
+
+    /**
+     * Record time slept before transaction, to ensure delay between transactions
+     *
+     * @param millis time slept
+     */
+    public void recordInterTransactionWait(long millis) {
+        interTransactionWait.record(millis);
+    }
+
+    /**
+     * Record transaction failing with I/O error, other than timeout
+     */
+    public void recordIOError() {
+        ioErrors.increment();
+    }
+
+    /**
+     * Record transaction failing with I/O error, as timeout when it failed only after the socket timeout
+     *
+     * jamod reports socket timeouts like any other read failure, as {@link net.wimpi.modbus.ModbusIOException}
+     * without cause. Failures of serial transactions are always recorded as I/O errors.
+     *
+     * @param connection connection used for the transaction
+     * @param transactionMillis time spent on the transaction
+     */
+    public void recordIOError(ModbusSlaveConnection connection, long transactionMillis) {
+        int timeoutMillis = 0;
+        if (connection instanceof TCPMasterConnection) {
+            timeoutMillis = ((TCPMasterConnection) connection).getTimeout();
+        } else if (connection instanceof UDPMasterConnection) {
+            timeoutMillis = ((UDPMasterConnection) connection).getTimeout();
+        }
+        if (timeoutMillis > 0 && transactionMillis >= timeoutMillis) {
+            recordTimeout();
+        } else {
+            recordIOError();
+        }
+    }
+
+    /**
+     * Record transaction that was not answered in time. Timeouts are counted as I/O errors as well.
+     */
+    public void recordTimeout() {
+        ioErrors.increment();
+        timeouts.increment();
+    }
+
+    /**
+     * Record exception response from the slave
+     *
+     * @param exceptionCode Modbus exception code of the response
+     */
+    public void recordSlaveError(int exceptionCode) {
+        slaveErrors.computeIfAbsent(exceptionCode, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record response with transaction id not matching the request
+     */
+    public void recordUnexpectedTransactionId() {
+        unexpectedTransactionIds.increment();
+    }
+
+    /**
+     * Record response with function code or size not matching the request
+     */
+    public void recordUnexpectedResponse() {
+        unexpectedResponses.increment();
+    }
+
+    /**
+     * Take snapshot of the metrics
+     *
+     * @param poolActive number of connections currently borrowed from the pool
+     * @param poolIdle number of idle connections currently in the pool
+     * @return snapshot of the metrics
+     */
+    public EndpointMetrics snapshot(int poolActive, int poolIdle) {
+        Map<Integer, Long> slaveErrorCounts = new HashMap<>();
+        slaveErrors.forEach((code, count) -> slaveErrorCounts.put(code, count.sum()));
+        return new EndpointMetrics(successfulTransactions.sum(), transactionLatency.snapshot(),
+                connectionBorrowTime.snapshot(), interTransactionWait.snapshot(), connectionErrors.sum(),
+                ioErrors.sum(), timeouts.sum(), slaveErrorCounts, unexpectedTransactionIds.sum(),
+                unexpectedResponses.sum(), poolActive, poolIdle);
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointQueueStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Ordered task queue of a single endpoint, drained by a dedicated worker thread
+ *
+ * Having a queue per endpoint ensures that slow endpoints (e.g. serial lines) do not delay the communication with
+ * other endpoints. Write tasks are executed before poll tasks, otherwise the tasks are executed in the order they
+ * were submitted.
+ *
+ * Scheduled polls are not queued if an equal poll is already waiting in the queue. Instead, the future of the queued
+ * poll is returned. This prevents queue from growing when the endpoint cannot keep up with the poll rate. One-off
+ * polls are always queued, since a queued scheduled poll is skipped if its poll task is unregistered before it
+ * executes.
+ *
+ * The worker thread is stopped when the queue has been idle for a while, and started again on demand.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointTaskQueue {
+
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+    private static final int PRIORITY_WRITE = 0;
+    private static final int PRIORITY_POLL = 1;
+
+    /**
+     * Task waiting in the queue
+     */
+    public class QueuedTask extends FutureTask<@Nullable Void> implements Comparable<QueuedTask> {
+        private final int priority;
+        private final long sequence;
+        private final long enqueuedMillis = System.currentTimeMillis();
+        private final @Nullable PollTask pollTask;
+        private final boolean oneOff;
+
+        private QueuedTask(Runnable runnable, int priority, @Nullable PollTask pollTask, boolean oneOff) {
+            super(runnable, null);
+            this.priority = priority;
+            this.sequence = sequenceCounter.getAndIncrement();
+            this.pollTask = pollTask;
+            this.oneOff = oneOff;
+        }
+
+        /**
+         * Get the poll task represented by this queued task
+         *
+         * @return poll task, or null in case of write
+         */
+        public @Nullable PollTask getPollTask() {
+            return pollTask;
+        }
+
+        /**
+         * Whether this is a one-off task, or execution of previously scheduled poll
+         */
+        public boolean isOneOff() {
+            return oneOff;
+        }
+
+        /**
+         * Mark the task done after it has been executed outside the queue
+         *
+         * @see EndpointTaskQueue#drainPolls(int)
+         */
+        public void markDone() {
+            set(null);
+        }
+
+        @Override
+        public void run() {
+            dequeued();
+            super.run();
+        }
+
+        private void dequeued() {
+            PollTask localPollTask = pollTask;
+            if (localPollTask != null) {
+                // From now on, equal polls are queued again since they would receive fresher data
+                queuedPolls.remove(localPollTask, this);
+            }
+            recordLatency(System.currentTimeMillis() - enqueuedMillis);
+        }
+
+        @Override
+        public int compareTo(QueuedTask other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ThreadPoolExecutor executor;
+    private final Map<PollTask, QueuedTask> queuedPolls = new ConcurrentHashMap<>();
+    private final AtomicLong sequenceCounter = new AtomicLong();
+    private final AtomicLong executedTasks = new AtomicLong();
+    private final AtomicLong droppedPolls = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private volatile long lastLatencyMillis;
+    private volatile long maxLatencyMillis;
+
+    public EndpointTaskQueue(ModbusSlaveEndpoint endpoint, String threadNamePrefix) {
+        this.endpoint = endpoint;
+        this.executor = new ThreadPoolExecutor(1, 1, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), new NamedThreadFactory(threadNamePrefix, true));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue poll task for execution
+     *
+     * @param task poll task, used to detect duplicate polls
+     * @param oneOff whether this is one-off poll, or execution of previously scheduled poll
+     * @param operation operation executing the poll
+     * @return future representing the poll. In case of scheduled poll and an equal poll was queued already, the
+     *         future of that poll.
+     */
+    public Future<?> submitPoll(PollTask task, boolean oneOff, Runnable operation) {
+        QueuedTask queuedTask = new QueuedTask(operation, PRIORITY_POLL, task, oneOff);
+        QueuedTask previous = queuedPolls.putIfAbsent(task, queuedTask);
+        if (previous != null && !oneOff) {
+            droppedPolls.incrementAndGet();
+            return previous;
+        }
+        try {
+            executor.execute(queuedTask);
+        } catch (RejectedExecutionException e) {
+            queuedPolls.remove(task, queuedTask);
+            throw e;
+        }
+        return queuedTask;
+    }
+
+    /**
+     * Queue write task for execution. Writes are executed before any queued polls.
+     *
+     * @param operation operation executing the write
+     * @return future representing the write
+     */
+    public Future<?> submitWrite(Runnable operation) {
+        QueuedTask queuedTask = new QueuedTask(operation, PRIORITY_WRITE, null, true);
+        executor.execute(queuedTask);
+        return queuedTask;
+    }
+
+    /**
+     * Remove queued polls from the queue so that they can be executed together with the currently executing task
+     *
+     * Polls are drained in the order they would be executed. No polls are drained if there are writes waiting in the
+     * queue, since writes have priority over polls.
+     *
+     * The caller is responsible for executing the polls, and calling {@link QueuedTask#markDone()} afterwards.
+     *
+     * @param max maximum number of polls to drain
+     * @return drained polls
+     */
+    public List<QueuedTask> drainPolls(int max) {
+        List<QueuedTask> pending = new ArrayList<>();
+        for (Runnable runnable : executor.getQueue().toArray(new Runnable[0])) {
+            if (runnable instanceof QueuedTask) {
+                pending.add((QueuedTask) runnable);
+            }
+        }
+        Collections.sort(pending);
+        List<QueuedTask> drained = new ArrayList<>();
+        for (QueuedTask task : pending) {
+            if (drained.size() >= max || task.getPollTask() == null) {
+                break;
+            }
+            if (!task.isDone() && executor.remove(task)) {
+                task.dequeued();
+                drained.add(task);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Get current statistics of the queue
+     *
+     * @return statistics snapshot
+     */
+    public EndpointQueueStatistics getStatistics() {
+        long executed = executedTasks.get();
+        return new EndpointQueueStatistics(executor.getQueue().size(), executed, droppedPolls.get(),
+                lastLatencyMillis, maxLatencyMillis, executed == 0 ? 0 : totalLatencyMillis.get() / executed);
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Stop accepting new tasks. Already queued tasks are still executed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    private void recordLatency(long latencyMillis) {
+        executedTasks.incrementAndGet();
+        totalLatencyMillis.addAndGet(latencyMillis);
+        lastLatencyMillis = latencyMillis;
+        if (latencyMillis > maxLatencyMillis) {
+            maxLatencyMillis = latencyMillis;
+        }
+    }
+}
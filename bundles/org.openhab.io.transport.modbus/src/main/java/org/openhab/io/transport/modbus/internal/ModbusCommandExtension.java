@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the communication metrics of the modbus endpoints
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET_METRICS = "resetMetrics";
+
+    private final ModbusManager manager;
+
+    @Activate
+    public ModbusCommandExtension(final @Reference ModbusManager manager) {
+        super("modbus", "Inspect modbus communication.");
+        this.manager = manager;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length != 1) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_METRICS:
+                printMetrics(console);
+                break;
+            case SUBCMD_RESET_METRICS:
+                manager.resetEndpointMetrics();
+                console.println("Metrics of all endpoints reset");
+                break;
+            default:
+                console.println("Unknown command '" + args[0] + "'");
+                printUsage(console);
+                break;
+        }
+    }
+
+    private void printMetrics(Console console) {
+        Map<ModbusSlaveEndpoint, EndpointMetrics> allMetrics = manager.getEndpointMetrics();
+        if (allMetrics.isEmpty()) {
+            console.println("No metrics recorded");
+            return;
+        }
+        allMetrics.forEach((endpoint, metrics) -> {
+            console.println(endpoint.toString());
+            metrics.toMap().forEach((name, value) -> console.println("    " + name + " = " + value));
+        });
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(SUBCMD_METRICS, "print communication metrics of the endpoints"),
+                buildCommandUsage(SUBCMD_RESET_METRICS, "reset communication metrics of all endpoints"));
+    }
+}
@@ -13,7 +13,13 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -28,6 +34,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.IIOException;
 
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -42,6 +50,7 @@ import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusResultCallback;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
@@ -49,7 +58,9 @@ import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
 import org.openhab.io.transport.modbus.PollTask;
 import org.openhab.io.transport.modbus.TaskWithEndpoint;
 import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.EndpointQueueStatistics;
 import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
@@ -71,9 +82,11 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -82,6 +95,9 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * Read and write requests are executed by a dedicated worker per endpoint (see {@link EndpointTaskQueue}), so that
+ * slow endpoints do not delay the communication with other endpoints.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -96,6 +112,60 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Poll tasks can be coalesced with each other only if they share the endpoint, unit id and function code. Within
+     * the group, only poll tasks with the same poll period are coalesced.
+     *
+     * The poll period is not part of the key, so that changing the poll period of a poll task only affects the
+     * coalesced poll tasks it is part of.
+     */
+    private static class PollGroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        public PollGroupKey(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request) {
+            this.endpoint = endpoint;
+            this.unitId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(43, 11).append(endpoint).append(unitId).append(functionCode).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            PollGroupKey rhs = (PollGroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(functionCode, rhs.functionCode).isEquals();
+        }
+    }
+
+    /**
+     * Registered member poll tasks of a group, and the coalesced poll tasks currently scheduled on their behalf. Both
+     * are mapped to their poll period.
+     */
+    private static class PollGroup {
+        private final Map<PollTask, Long> members = new LinkedHashMap<>();
+        /**
+         * Members polled separately, since the slave rejected the addresses of a merged request
+         */
+        private final Set<PollTask> separate = new HashSet<>();
+        private int maxGap;
+        private Map<CoalescedPollTask, Long> scheduled = Collections.emptyMap();
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -275,10 +345,15 @@ public class ModbusManagerImpl implements ModbusManager {
     public static final long DEFAULT_SERIAL_INTER_TRANSACTION_DELAY_MILLIS = 35;
 
     /**
-     * Thread naming for modbus read & write requests. Also used by the monitor thread
+     * Thread naming for scheduling modbus read requests. Also used by the monitor thread
      */
     private static final String MODBUS_POLLER_THREAD_POOL_NAME = "modbusManagerPollerThreadPool";
 
+    /**
+     * Thread naming for the per-endpoint workers executing the read & write requests
+     */
+    private static final String MODBUS_ENDPOINT_THREAD_NAME_PREFIX = "modbusManagerEndpoint-";
+
     /**
      * Log message with WARN level if the task queues exceed this limit.
      *
@@ -312,6 +387,20 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile @Nullable KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool;
     private volatile @Nullable ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Poll tasks registered with poll coalescing enabled, and the group they belong to. The tasks are not scheduled
+     * as such but via the coalesced poll tasks of the group.
+     */
+    private final Map<PollTask, PollGroupKey> coalescedPollTaskGroups = new ConcurrentHashMap<>();
+    private final Map<PollGroupKey, PollGroup> pollGroups = new ConcurrentHashMap<>();
+    /**
+     * Task queues of the endpoints. Each queue has a dedicated worker executing the read & write requests.
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointTaskQueue> taskQueues = new ConcurrentHashMap<>();
+    /**
+     * Communication metrics of the endpoints
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetricsRecorder> endpointMetrics = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -321,6 +410,8 @@ public class ModbusManagerImpl implements ModbusManager {
 
     private void constructConnectionPool() {
         ModbusSlaveConnectionFactoryImpl connectionFactory = new ModbusSlaveConnectionFactoryImpl();
+        connectionFactory.setInterTransactionWaitListener(
+                (endpoint, waitedMillis) -> getMetricsRecorder(endpoint).recordInterTransactionWait(waitedMillis));
         connectionFactory.setDefaultPoolConfigurationFactory(endpoint -> {
             return endpoint.accept(new ModbusSlaveEndpointVisitor<EndpointPoolConfiguration>() {
 
@@ -446,6 +537,24 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     private <R, C extends ModbusResultCallback, F extends ModbusFailureCallback<R>, T extends TaskWithEndpoint<R, C, F>> Optional<ModbusSlaveConnection> getConnection(
             AggregateStopWatch timer, boolean oneOffTask, @NonNull T task) throws PollTaskUnregistered {
+        return getConnection(timer, oneOffTask, task, true);
+    }
+
+    /**
+     * Establishes connection to the endpoint specified by the task
+     *
+     * @param operationId id appened to log messages for identifying the operation
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     * @param task task representing the read or write operation
+     * @param invokeFailureCallback whether to call the callback with {@link ModbusConnectionException} in case
+     *            connection cannot be established
+     * @return {@link ModbusSlaveConnection} to the endpoint as specified by the task, or empty {@link Optional} when
+     *         connection cannot be established
+     * @throws PollTaskUnregistered
+     */
+    private <R, C extends ModbusResultCallback, F extends ModbusFailureCallback<R>, T extends TaskWithEndpoint<R, C, F>> Optional<ModbusSlaveConnection> getConnection(
+            AggregateStopWatch timer, boolean oneOffTask, @NonNull T task, boolean invokeFailureCallback)
+            throws PollTaskUnregistered {
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool = this.connectionPool;
         if (connectionPool == null) {
             return Optional.empty();
@@ -461,8 +570,10 @@ public class ModbusManagerImpl implements ModbusManager {
 
         R request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        long connectionBorrowMillis = System.currentTimeMillis() - connectionBorrowStart;
+        getMetricsRecorder(endpoint).recordConnectionBorrow(connectionBorrowMillis, connection.isPresent());
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
-                System.currentTimeMillis() - connectionBorrowStart, operationId);
+                connectionBorrowMillis, operationId);
         if (scheduledThreadPoolExecutor == null) {
             // manager deactivated
             timer.connection.timeRunnable(() -> invalidate(endpoint, connection));
@@ -471,6 +582,8 @@ public class ModbusManagerImpl implements ModbusManager {
         if (!connection.isPresent()) {
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
+        }
+        if (!connection.isPresent() && invokeFailureCallback) {
             timer.callback.timeRunnable(
                     () -> invokeCallbackWithError(request, failureCallback, new ModbusConnectionException(endpoint)));
         }
@@ -540,6 +653,7 @@ public class ModbusManagerImpl implements ModbusManager {
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
         F failureCallback = task.getFailureCallback();
         int maxTries = task.getMaxTries();
+        EndpointMetricsRecorder metrics = getMetricsRecorder(endpoint);
         AtomicReference<@Nullable Exception> lastError = new AtomicReference<>();
         @SuppressWarnings("null") // since cfg in lambda cannot be really null
         long retryDelay = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
@@ -600,15 +714,23 @@ public class ModbusManagerImpl implements ModbusManager {
                         operationId);
                 long slept = ModbusSlaveConnectionFactoryImpl.waitAtleast(lastTryMillis, retryDelay);
                 logger.trace("Sleep ended, slept {} [operation ID {}]", slept, operationId);
+                if (lastTryMillis != null) {
+                    metrics.recordInterTransactionWait(slept);
+                }
 
                 boolean willRetry = false;
+                // Only the transaction itself is recorded, excluding the callback
+                long transactionMillisBefore = timer.transaction.getTotalTimeMillis();
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
                     operation.accept(timer, task, connection.get());
+                    metrics.recordSuccess(timer.transaction.getTotalTimeMillis() - transactionMillisBefore);
                     lastError.set(null);
                     break;
                 } catch (IOException e) {
+                    metrics.recordIOError(connection.get(),
+                            timer.transaction.getTotalTimeMillis() - transactionMillisBefore);
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
@@ -626,6 +748,8 @@ public class ModbusManagerImpl implements ModbusManager {
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusIOException e) {
+                    metrics.recordIOError(connection.get(),
+                            timer.transaction.getTotalTimeMillis() - transactionMillisBefore);
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
@@ -643,6 +767,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusSlaveException e) {
+                    metrics.recordSlaveError(e.getType());
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
                     // Slave returned explicit error response, no reason to re-establish new connection
                     if (willRetry) {
@@ -657,6 +782,11 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusUnexpectedTransactionIdException | ModbusUnexpectedResponseFunctionCodeException
                         | ModbusUnexpectedResponseSizeException e) {
+                    if (e instanceof ModbusUnexpectedTransactionIdException) {
+                        metrics.recordUnexpectedTransactionId();
+                    } else {
+                        metrics.recordUnexpectedResponse();
+                    }
                     lastError.set(e);
                     // transaction error details already logged
                     if (willRetry) {
@@ -722,6 +852,313 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Execute poll operation
+     *
+     * With pipelining enabled for the endpoint, other polls waiting in the queue of the endpoint are executed together
+     * with this poll.
+     *
+     * @param task poll task to execute
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     */
+    private void executePoll(PollTask task, boolean oneOffTask) {
+        ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        @Nullable
+        EndpointPoolConfiguration configuration = connectionFactory == null ? null
+                : connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (configuration != null && configuration.getPipelineDepth() > 1
+                && endpoint instanceof ModbusTCPSlaveEndpoint) {
+            List<EndpointTaskQueue.QueuedTask> drained = getTaskQueue(endpoint)
+                    .drainPolls(configuration.getPipelineDepth() - 1);
+            if (!drained.isEmpty()) {
+                Map<PollTask, Boolean> tasks = new LinkedHashMap<>();
+                tasks.put(task, oneOffTask);
+                for (EndpointTaskQueue.QueuedTask queuedTask : drained) {
+                    PollTask pollTask = queuedTask.getPollTask();
+                    if (pollTask != null) {
+                        tasks.putIfAbsent(pollTask, queuedTask.isOneOff());
+                    }
+                }
+                try {
+                    executePipelined(tasks, configuration.getPipelineTimeoutMillis());
+                } finally {
+                    drained.forEach(EndpointTaskQueue.QueuedTask::markDone);
+                }
+                return;
+            }
+        }
+        executeOperation(task, oneOffTask, pollOperation);
+    }
+
+    /**
+     * Execute several polls over single connection, without waiting for the responses in between.
+     *
+     * The polls that do not receive a valid response (e.g. due to timeout or exception response) are executed again
+     * one by one using {@link #executeOperation}, taking care of the retries and error callbacks.
+     *
+     * @param tasks tasks to execute, with flag telling whether the task is one-off poll
+     * @param transactionTimeoutMillis timeout for each transaction
+     */
+    private void executePipelined(Map<PollTask, Boolean> tasks, long transactionTimeoutMillis) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        Map<PollTask, Boolean> notCompleted = new LinkedHashMap<>();
+        PollTask first = tasks.keySet().iterator().next();
+        ModbusSlaveEndpoint endpoint = first.getEndpoint();
+        Optional<ModbusSlaveConnection> connection = Optional.empty();
+        try {
+            Map<PollTask, ModbusRequest> libRequests = new LinkedHashMap<>();
+            for (Map.Entry<PollTask, Boolean> entry : tasks.entrySet()) {
+                PollTask task = entry.getKey();
+                if (!entry.getValue() && !scheduledPollTasks.containsKey(task)) {
+                    logger.debug("Poll task {} is unregistered, not executing it [operation ID {}]", task,
+                            operationId);
+                    continue;
+                }
+                libRequests.put(task, ModbusLibraryWrapper.createRequest(task.getRequest()));
+            }
+            if (libRequests.isEmpty()) {
+                return;
+            }
+            connection = getConnection(timer, Boolean.TRUE.equals(tasks.get(first)), first, false);
+            if (!connection.isPresent()) {
+                if (scheduledThreadPoolExecutor == null) {
+                    // manager deactivated
+                    return;
+                }
+                for (PollTask task : libRequests.keySet()) {
+                    // Tasks might have been unregistered while connecting
+                    if (!Boolean.TRUE.equals(tasks.get(task)) && !scheduledPollTasks.containsKey(task)) {
+                        logger.debug("Poll task {} is unregistered, not calling its error callback [operation ID {}]",
+                                task, operationId);
+                        continue;
+                    }
+                    timer.callback.timeRunnable(() -> invokeCallbackWithError(task.getRequest(),
+                            task.getFailureCallback(), new ModbusConnectionException(endpoint)));
+                }
+                return;
+            }
+
+            logger.trace("Executing {} poll tasks pipelined [operation ID {}]", libRequests.size(), operationId);
+            PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(
+                    (TCPMasterConnection) connection.get(), transactionTimeoutMillis);
+            EndpointMetricsRecorder metrics = getMetricsRecorder(endpoint);
+            long transactionStart = System.currentTimeMillis();
+            timer.transaction.timeRunnable(() -> transaction.execute(new ArrayList<>(libRequests.values())));
+            long transactionMillis = System.currentTimeMillis() - transactionStart;
+            ModbusIOException transactionError = transaction.getError();
+            if (transactionError != null) {
+                metrics.recordIOError();
+            }
+            if (transactionError != null || transaction.hasUnansweredRequests()) {
+                // State of the connection is unknown, or late responses might still arrive. Make sure the connection
+                // is not used anymore.
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            }
+
+            for (Map.Entry<PollTask, ModbusRequest> entry : libRequests.entrySet()) {
+                PollTask task = entry.getKey();
+                ModbusRequest libRequest = entry.getValue();
+                ModbusReadRequestBlueprint request = task.getRequest();
+                ModbusResponse response = transaction.getResponse(libRequest);
+                if (response == null) {
+                    if (transactionError == null) {
+                        metrics.recordTimeout();
+                    }
+                    notCompleted.put(task, tasks.get(task));
+                    continue;
+                }
+                if (response instanceof ExceptionResponse) {
+                    metrics.recordSlaveError(((ExceptionResponse) response).getExceptionCode());
+                    notCompleted.put(task, tasks.get(task));
+                    continue;
+                }
+                try {
+                    checkFunctionCode(response, libRequest, operationId);
+                    checkResponseSize(response, request, operationId);
+                } catch (ModbusUnexpectedResponseFunctionCodeException | ModbusUnexpectedResponseSizeException e) {
+                    metrics.recordUnexpectedResponse();
+                    logger.debug("Invalid response to pipelined request {}: {} {} [operation ID {}]", request,
+                            e.getClass().getName(), e.getMessage(), operationId);
+                    notCompleted.put(task, tasks.get(task));
+                    continue;
+                }
+                // Requests are in flight simultaneously, each response takes the whole pipelined transaction
+                metrics.recordSuccess(transactionMillis);
+                timer.callback.timeRunnable(() -> ModbusLibraryWrapper.invokeCallbackWithResponse(request,
+                        task.getResultCallback(), response));
+            }
+        } catch (PollTaskUnregistered e) {
+            // not raised with one-off connection
+            logger.debug("Unexpected unregistration of poll task: {} [operation ID {}]", e.getMessage(), operationId);
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            logger.debug("Pipelined modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
+        }
+        if (!notCompleted.isEmpty()) {
+            logger.debug("{} pipelined polls did not receive valid response, executing them again one by one",
+                    notCompleted.size());
+            notCompleted.forEach((task, oneOff) -> executeOperation(task, oneOff, pollOperation));
+        }
+    }
+
+    /**
+     * Get the metrics recorder of the endpoint, creating it if necessary
+     *
+     * @param endpoint endpoint to get the recorder for
+     * @return metrics recorder of the endpoint
+     */
+    private EndpointMetricsRecorder getMetricsRecorder(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, key -> new EndpointMetricsRecorder());
+    }
+
+    private EndpointMetrics getMetricsSnapshot(ModbusSlaveEndpoint endpoint, EndpointMetricsRecorder recorder) {
+        KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool = this.connectionPool;
+        if (connectionPool == null) {
+            return recorder.snapshot(0, 0);
+        }
+        return recorder.snapshot(connectionPool.getNumActive(endpoint), connectionPool.getNumIdle(endpoint));
+    }
+
+    /**
+     * Get the task queue of the endpoint, creating it if necessary
+     *
+     * @param endpoint endpoint to get the queue for
+     * @return task queue of the endpoint
+     */
+    private EndpointTaskQueue getTaskQueue(ModbusSlaveEndpoint endpoint) {
+        return taskQueues.compute(endpoint, (key, queue) -> queue == null || queue.isShutdown()
+                ? new EndpointTaskQueue(key, MODBUS_ENDPOINT_THREAD_NAME_PREFIX + key)
+                : queue);
+    }
+
+    /**
+     * Schedule regular execution of the poll task
+     *
+     * @param executor executor to use
+     * @param task task to execute
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param initialDelayMillis initial delay before starting polling, in milliseconds
+     * @return future representing the scheduled task
+     */
+    private ScheduledFuture<?> schedulePollTask(ScheduledExecutorService executor, PollTask task,
+            long pollPeriodMillis, long initialDelayMillis) {
+        return executor.scheduleWithFixedDelay(() -> {
+            // The scheduler only queues the poll, actual execution happens in the endpoint worker
+            try {
+                getTaskQueue(task.getEndpoint()).submitPoll(task, false, () -> {
+                    long started = System.currentTimeMillis();
+                    logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis,
+                            task, started);
+                    try {
+                        executePoll(task, false);
+                    } catch (RuntimeException e) {
+                        // We want to catch all unexpected exceptions so that they do not end up in the worker
+                        // thread. It is better to print out the exception, and try again (on next poll cycle)
+                        logger.warn(
+                                "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                                pollPeriodMillis, task, e);
+                    }
+                    long finished = System.currentTimeMillis();
+                    logger.debug(
+                            "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                            pollPeriodMillis, task, finished, started, finished - started);
+                });
+            } catch (RuntimeException e) {
+                // We want to catch all unexpected exceptions since all unhandled exceptions make
+                // ScheduledExecutorService halt the polling.
+                logger.warn("Queuing scheduled ({}ms) poll task {} failed unexpectedly. Trying again on next poll cycle.",
+                        pollPeriodMillis, task, e);
+            }
+        }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Update the scheduled coalesced poll tasks of the group to reflect the current members of the group and their
+     * poll periods
+     *
+     * Coalesced poll tasks that are not affected by the change are kept scheduled as they are. Replaced coalesced poll
+     * tasks are cancelled without interrupting ongoing polls.
+     *
+     * @param key key of the group
+     * @param group group to reschedule
+     * @param initialDelayMillis initial delay before starting polling of new coalesced poll tasks, in milliseconds.
+     *            Null to start polling after one poll period.
+     */
+    private void reschedulePollGroup(PollGroupKey key, PollGroup group, @Nullable Long initialDelayMillis) {
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        Map<Long, List<PollTask>> membersByPeriod = new LinkedHashMap<>();
+        group.members.forEach(
+                (task, period) -> membersByPeriod.computeIfAbsent(period, p -> new ArrayList<>()).add(task));
+        Map<CoalescedPollTask, Long> previous = new LinkedHashMap<>(group.scheduled);
+        Map<CoalescedPollTask, Long> scheduled = new LinkedHashMap<>();
+        int started = 0;
+        for (Map.Entry<Long, List<PollTask>> entry : membersByPeriod.entrySet()) {
+            if (executor == null) {
+                break;
+            }
+            long period = entry.getKey();
+            for (CoalescedPollTask task : PollCoalescer.coalesce(key.endpoint, entry.getValue(), group.maxGap,
+                    group.separate, rejected -> pollSeparately(key, rejected))) {
+                Optional<CoalescedPollTask> unchanged = previous.entrySet().stream()
+                        .filter(previousTask -> previousTask.getValue() == period
+                                && previousTask.getKey().hasSameRequestAndMembers(task))
+                        .map(Map.Entry::getKey).findFirst();
+                if (unchanged.isPresent()) {
+                    previous.remove(unchanged.get());
+                    scheduled.put(unchanged.get(), period);
+                } else {
+                    scheduledPollTasks.put(task, schedulePollTask(executor, task, period,
+                            initialDelayMillis == null ? period : initialDelayMillis));
+                    scheduled.put(task, period);
+                    started++;
+                }
+            }
+        }
+        for (CoalescedPollTask task : previous.keySet()) {
+            @Nullable
+            ScheduledFuture<?> future = scheduledPollTasks.remove(task);
+            if (future != null) {
+                // Do not interrupt ongoing poll, the data is still useful to the remaining members
+                future.cancel(false);
+            }
+        }
+        logger.debug("Coalesced {} poll tasks to {} requests, {} requests started and {} stopped",
+                group.members.size(), scheduled.size(), started, previous.size());
+        group.scheduled = scheduled;
+    }
+
+    /**
+     * Stop merging the members of the coalesced poll task, and poll them separately right away
+     *
+     * Called when the slave rejects the addresses of the merged request, typically since the gap between the members
+     * contains addresses that cannot be read.
+     *
+     * @param key key of the group
+     * @param task coalesced poll task with rejected request
+     */
+    private void pollSeparately(PollGroupKey key, CoalescedPollTask task) {
+        synchronized (this) {
+            PollGroup group = pollGroups.get(key);
+            if (group == null || !group.scheduled.containsKey(task)) {
+                // Group has been changed already
+                return;
+            }
+            logger.warn(
+                    "Slave rejected the addresses of coalesced request {}, polling the {} poll tasks of the request separately from now on",
+                    task.getRequest(), task.getMembers().size());
+            task.getMembers().stream().filter(group.members::containsKey).forEach(group.separate::add);
+            reschedulePollGroup(key, group, null);
+        }
+        for (PollTask member : task.getMembers()) {
+            getTaskQueue(member.getEndpoint()).submitPoll(member, true, () -> executePoll(member, true));
+        }
+    }
+
     private class ModbusCommunicationInterfaceImpl implements ModbusCommunicationInterface {
 
         private volatile ModbusSlaveEndpoint endpoint;
@@ -743,16 +1180,15 @@ public class ModbusManagerImpl implements ModbusManager {
             if (closed) {
                 throw new IllegalStateException("Communication interface is closed already!");
             }
-            ScheduledExecutorService executor = scheduledThreadPoolExecutor;
-            Objects.requireNonNull(executor, "Not activated!");
+            Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
             long scheduleTime = System.currentTimeMillis();
             BasicPollTask task = new BasicPollTask(endpoint, request, resultCallback, failureCallback);
             logger.debug("Scheduling one-off poll task {}", task);
-            Future<?> future = executor.submit(() -> {
+            Future<?> future = getTaskQueue(endpoint).submitPoll(task, true, () -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
-                executeOperation(task, true, pollOperation);
+                executePoll(task, true);
             });
             return future;
         }
@@ -770,32 +1206,22 @@ public class ModbusManagerImpl implements ModbusManager {
                 BasicPollTask task = new BasicPollTask(endpoint, request, resultCallback, failureCallback);
                 logger.trace("Registering poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                         initialDelayMillis);
-                if (scheduledPollTasks.containsKey(task)) {
+                if (scheduledPollTasks.containsKey(task) || coalescedPollTaskGroups.containsKey(task)) {
                     logger.trace("Unregistering previous poll task (possibly with different period)");
                     unregisterRegularPoll(task);
                 }
-                ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                    long started = System.currentTimeMillis();
-                    logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                            started);
-                    try {
-                        executeOperation(task, false, pollOperation);
-                    } catch (RuntimeException e) {
-                        // We want to catch all unexpected exceptions since all unhandled exceptions make
-                        // ScheduledExecutorService halt the polling. It is better to print out the exception, and try
-                        // again
-                        // (on next poll cycle)
-                        logger.warn(
-                                "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
-                                pollPeriodMillis, task, e);
-                    }
-                    long finished = System.currentTimeMillis();
-                    logger.debug(
-                            "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                            pollPeriodMillis, task, finished, started, finished - started);
-                }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
-
-                scheduledPollTasks.put(task, future);
+                EndpointPoolConfiguration configuration = this.configuration;
+                if (configuration != null && configuration.isCoalescePolls()) {
+                    PollGroupKey key = new PollGroupKey(endpoint, request);
+                    coalescedPollTaskGroups.put(task, key);
+                    PollGroup group = pollGroups.computeIfAbsent(key, k -> new PollGroup());
+                    group.members.put(task, pollPeriodMillis);
+                    group.maxGap = configuration.getCoalescingMaxGap();
+                    reschedulePollGroup(key, group, initialDelayMillis);
+                } else {
+                    scheduledPollTasks.put(task,
+                            schedulePollTask(executor, task, pollPeriodMillis, initialDelayMillis));
+                }
                 pollTasksRegisteredByThisCommInterface.add(task);
                 logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                         initialDelayMillis);
@@ -815,6 +1241,22 @@ public class ModbusManagerImpl implements ModbusManager {
                 ModbusSlaveConnectionFactoryImpl localConnectionFactory = connectionFactory;
                 Objects.requireNonNull(localConnectionFactory, "Not activated!");
 
+                @Nullable
+                PollGroupKey key = coalescedPollTaskGroups.remove(task);
+                if (key != null) {
+                    PollGroup group = pollGroups.get(key);
+                    if (group != null) {
+                        logger.debug("Unregistering coalesced regular poll task {}", task);
+                        group.members.remove(task);
+                        group.separate.remove(task);
+                        reschedulePollGroup(key, group, null);
+                        if (group.members.isEmpty()) {
+                            pollGroups.remove(key);
+                        }
+                    }
+                    return true;
+                }
+
                 // cancel poller
                 @Nullable
                 ScheduledFuture<?> future = scheduledPollTasks.remove(task);
@@ -830,18 +1272,50 @@ public class ModbusManagerImpl implements ModbusManager {
             }
         }
 
+        @Override
+        public boolean changeRegularPollPeriod(PollTask task, long pollPeriodMillis, long initialDelayMillis) {
+            synchronized (ModbusManagerImpl.this) {
+                ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+                if (closed || executor == null || !pollTasksRegisteredByThisCommInterface.contains(task)) {
+                    return false;
+                }
+                logger.trace("Changing period of poll task {} to {} using initial delay {}", task, pollPeriodMillis,
+                        initialDelayMillis);
+                @Nullable
+                PollGroupKey key = coalescedPollTaskGroups.get(task);
+                if (key != null) {
+                    PollGroup group = pollGroups.get(key);
+                    if (group == null || !group.members.containsKey(task)) {
+                        return false;
+                    }
+                    group.members.put(task, pollPeriodMillis);
+                    reschedulePollGroup(key, group, initialDelayMillis);
+                    return true;
+                }
+
+                @Nullable
+                ScheduledFuture<?> future = scheduledPollTasks.get(task);
+                if (future == null) {
+                    return false;
+                }
+                // Let ongoing poll complete
+                future.cancel(false);
+                scheduledPollTasks.put(task, schedulePollTask(executor, task, pollPeriodMillis, initialDelayMillis));
+                return true;
+            }
+        }
+
         @Override
         public Future<?> submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
                 ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
             if (closed) {
                 throw new IllegalStateException("Communication interface is closed already!");
             }
-            ScheduledExecutorService localScheduledThreadPoolExecutor = scheduledThreadPoolExecutor;
-            Objects.requireNonNull(localScheduledThreadPoolExecutor, "Not activated!");
+            Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
             WriteTask task = new BasicWriteTask(endpoint, request, resultCallback, failureCallback);
             long scheduleTime = System.currentTimeMillis();
             logger.debug("Scheduling one-off write task {}", task);
-            Future<?> future = localScheduledThreadPoolExecutor.submit(() -> {
+            Future<?> future = getTaskQueue(endpoint).submitWrite(() -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
@@ -873,6 +1347,20 @@ public class ModbusManagerImpl implements ModbusManager {
         public ModbusSlaveEndpoint getEndpoint() {
             return endpoint;
         }
+
+        @Override
+        public EndpointQueueStatistics getQueueStatistics() {
+            EndpointTaskQueue queue = taskQueues.get(endpoint);
+            if (queue == null) {
+                return new EndpointQueueStatistics(0, 0, 0, 0, 0, 0);
+            }
+            return queue.getStatistics();
+        }
+
+        @Override
+        public EndpointMetrics getMetrics() {
+            return getMetricsSnapshot(endpoint, getMetricsRecorder(endpoint));
+        }
     }
 
     @Override
@@ -897,6 +1385,19 @@ public class ModbusManagerImpl implements ModbusManager {
         return connectionFactory.getEndpointPoolConfiguration(endpoint);
     }
 
+    @Override
+    public Map<ModbusSlaveEndpoint, EndpointMetrics> getEndpointMetrics() {
+        Map<ModbusSlaveEndpoint, EndpointMetrics> metrics = new HashMap<>();
+        endpointMetrics.forEach((endpoint, recorder) -> metrics.put(endpoint, getMetricsSnapshot(endpoint, recorder)));
+        return metrics;
+    }
+
+    @Override
+    public void resetEndpointMetrics() {
+        // Recorders are re-created on demand
+        endpointMetrics.clear();
+    }
+
     private void unregisterCommunicationInterface(ModbusCommunicationInterface commInterface) {
         communicationInterfaces.remove(commInterface);
         maybeCloseConnections(commInterface.getEndpoint());
@@ -911,6 +1412,13 @@ public class ModbusManagerImpl implements ModbusManager {
 
             // Make sure connections to this endpoint are closed when they are returned to pool (which
             // is usually pretty soon as transactions should be relatively short-lived)
+            // Queued tasks are still executed but the worker thread is released afterwards
+            EndpointTaskQueue queue = taskQueues.remove(endpoint);
+            if (queue != null) {
+                queue.shutdown();
+            }
+            endpointMetrics.remove(endpoint);
+
             ModbusSlaveConnectionFactoryImpl localConnectionFactory = connectionFactory;
             if (localConnectionFactory != null) {
                 localConnectionFactory.disconnectOnReturn(endpoint, System.currentTimeMillis());
@@ -965,6 +1473,10 @@ public class ModbusManagerImpl implements ModbusManager {
                 this.connectionPool = connectionPool = null;
             }
 
+            taskQueues.values().forEach(EndpointTaskQueue::shutdown);
+            taskQueues.clear();
+            endpointMetrics.clear();
+
             if (monitorFuture != null) {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
@@ -1007,6 +1519,23 @@ public class ModbusManagerImpl implements ModbusManager {
                             executor.getQueue().size());
                 }
             }
+            this.taskQueues.forEach((endpoint, queue) -> {
+                EndpointQueueStatistics statistics = queue.getStatistics();
+                pollMonitorLogger.trace(
+                        "POLL MONITOR: endpoint {} queue size: {}, executed tasks: {}, dropped duplicate polls: {}, queue latency (last/avg/max): {}/{}/{} ms",
+                        endpoint, statistics.getQueueSize(), statistics.getExecutedTasks(),
+                        statistics.getDroppedPolls(), statistics.getLastLatencyMillis(),
+                        statistics.getAverageLatencyMillis(), statistics.getMaxLatencyMillis());
+                if (statistics.getQueueSize() >= WARN_QUEUE_SIZE) {
+                    pollMonitorLogger.warn(
+                            "Many ({}) tasks queued for endpoint {}! This might be sign of bad design or bug in the binding code, or the endpoint cannot keep up with the requests.",
+                            statistics.getQueueSize(), endpoint);
+                }
+            });
+            this.endpointMetrics.forEach((endpoint, recorder) -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} metrics: {}", endpoint,
+                        getMetricsSnapshot(endpoint, recorder));
+            });
 
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
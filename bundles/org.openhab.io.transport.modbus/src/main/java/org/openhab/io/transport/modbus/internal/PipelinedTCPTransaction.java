@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * Transaction sending several requests over single TCP connection before reading the responses
+ *
+ * Responses are matched to the requests using the MBAP transaction id, and thus can arrive in any order. Each
+ * request has its own timeout, starting from the time the request was sent.
+ *
+ * Requests without a response are left unanswered, see {@link #getResponse(ModbusRequest)}. In case of I/O errors, or
+ * when requests are left unanswered, the state of the connection is unknown and the connection should not be used
+ * anymore: late responses would otherwise be read by the next transaction using the connection.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PipelinedTCPTransaction {
+
+    /**
+     * Transaction ids are shared by all pipelined transactions, wrapping around at 16 bits
+     */
+    private static final AtomicInteger TRANSACTION_ID_COUNTER = new AtomicInteger();
+
+    private final Logger logger = LoggerFactory.getLogger(PipelinedTCPTransaction.class);
+
+    private final TCPMasterConnection connection;
+    private final long transactionTimeoutMillis;
+    private final Map<ModbusRequest, ModbusResponse> responses = new IdentityHashMap<>();
+    private @Nullable ModbusIOException error;
+    private boolean unansweredRequests;
+
+    public PipelinedTCPTransaction(TCPMasterConnection connection, long transactionTimeoutMillis) {
+        this.connection = connection;
+        this.transactionTimeoutMillis = transactionTimeoutMillis;
+    }
+
+    /**
+     * Send all the requests, and wait for the responses
+     *
+     * The method returns once all responses have been received, or the timeout of the unanswered transactions has
+     * passed, or an I/O error occurs. Timeouts of the socket are not considered as I/O errors, the requests are just
+     * left unanswered.
+     *
+     * The transport of jamod reports all read failures, including socket timeouts, as a {@link ModbusIOException}
+     * without cause. A failed read is thus considered a timeout when it returns only after the socket timeout, which
+     * is set to the time remaining until the nearest deadline before each read.
+     *
+     * @param requests requests to send
+     */
+    public void execute(List<ModbusRequest> requests) {
+        ModbusTransport transport = connection.getModbusTransport();
+        Map<Integer, ModbusRequest> outstanding = new HashMap<>();
+        Map<Integer, Long> deadlines = new HashMap<>();
+        int originalTimeout = connection.getTimeout();
+        try {
+            for (ModbusRequest request : requests) {
+                int transactionId = nextTransactionId();
+                request.setTransactionID(transactionId);
+                transport.writeMessage(request);
+                outstanding.put(transactionId, request);
+                deadlines.put(transactionId, System.currentTimeMillis() + transactionTimeoutMillis);
+                logger.trace("Sent pipelined request with transaction ID {}: {}", transactionId,
+                        request.getHexMessage());
+            }
+            while (!outstanding.isEmpty()) {
+                long deadline = deadlines.values().stream().mapToLong(Long::longValue).min().getAsLong();
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.debug("Pipelined transactions {} timed out", outstanding.keySet());
+                    break;
+                }
+                connection.setTimeout((int) Math.min(Integer.MAX_VALUE, remaining));
+                ModbusResponse response;
+                try {
+                    response = transport.readResponse();
+                } catch (ModbusIOException e) {
+                    if (System.currentTimeMillis() < deadline) {
+                        throw e;
+                    }
+                    logger.debug("Pipelined transactions {} timed out: {}", outstanding.keySet(), e.getMessage());
+                    break;
+                }
+                ModbusRequest request = outstanding.remove(response.getTransactionID());
+                if (request == null) {
+                    logger.debug("Ignoring response with unexpected transaction ID {}: {}",
+                            response.getTransactionID(), response.getHexMessage());
+                    continue;
+                }
+                deadlines.remove(response.getTransactionID());
+                logger.trace("Received pipelined response with transaction ID {}: {}", response.getTransactionID(),
+                        response.getHexMessage());
+                responses.put(request, response);
+            }
+        } catch (ModbusIOException e) {
+            logger.debug("I/O error with pipelined transactions {}: {}", outstanding.keySet(), e.getMessage());
+            error = e;
+        } finally {
+            unansweredRequests = !outstanding.isEmpty();
+            connection.setTimeout(originalTimeout);
+        }
+    }
+
+    /**
+     * Get the response for the request
+     *
+     * @param request request sent with {@link #execute(List)}
+     * @return response, or null in case response was not received
+     */
+    public @Nullable ModbusResponse getResponse(ModbusRequest request) {
+        return responses.get(request);
+    }
+
+    /**
+     * Get the I/O error that aborted the transaction
+     *
+     * @return I/O error, or null if there was no such error
+     */
+    public @Nullable ModbusIOException getError() {
+        return error;
+    }
+
+    /**
+     * Whether some of the sent requests did not receive a response
+     *
+     * Responses to these requests might still arrive, and thus the connection should not be used anymore.
+     *
+     * @return true if requests were left unanswered
+     */
+    public boolean hasUnansweredRequests() {
+        return unansweredRequests;
+    }
+
+    private static int nextTransactionId() {
+        return TRANSACTION_ID_COUNTER.updateAndGet(id -> id >= 0xFFFF ? 1 : id + 1);
+    }
+}
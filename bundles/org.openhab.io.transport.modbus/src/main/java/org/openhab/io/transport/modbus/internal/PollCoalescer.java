@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Merges poll tasks reading adjacent or overlapping data into fewer poll tasks
+ *
+ * Poll tasks are merged only if they share the unit id, function code and maximum tries. Merged requests never exceed
+ * the maximum read counts of the Modbus protocol ({@link ModbusConstants#MAX_REGISTERS_READ_COUNT} and
+ * {@link ModbusConstants#MAX_BITS_READ_COUNT}).
+ *
+ * It is up to the caller to group the tasks by endpoint and poll period.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class PollCoalescer {
+
+    private PollCoalescer() {
+    }
+
+    /**
+     * Merge poll tasks
+     *
+     * @param endpoint endpoint of all the tasks
+     * @param tasks tasks to merge
+     * @param maxGap maximum number of unrequested registers or bits to read in between two tasks
+     * @return coalesced poll tasks, covering all the given tasks
+     */
+    public static List<CoalescedPollTask> coalesce(ModbusSlaveEndpoint endpoint, Collection<PollTask> tasks,
+            int maxGap) {
+        return coalesce(endpoint, tasks, maxGap, Collections.emptySet(), null);
+    }
+
+    /**
+     * Merge poll tasks, leaving some of them unmerged
+     *
+     * @param endpoint endpoint of all the tasks
+     * @param tasks tasks to merge
+     * @param maxGap maximum number of unrequested registers or bits to read in between two tasks
+     * @param separateTasks tasks that are not merged with any other task
+     * @param illegalAddressHandler called instead of the failure callbacks of the members when the slave rejects the
+     *            addresses of a merged request, see {@link CoalescedPollTask}
+     * @return coalesced poll tasks, covering all the given tasks
+     */
+    public static List<CoalescedPollTask> coalesce(ModbusSlaveEndpoint endpoint, Collection<PollTask> tasks,
+            int maxGap, Set<PollTask> separateTasks, @Nullable Consumer<CoalescedPollTask> illegalAddressHandler) {
+        Map<String, List<PollTask>> groups = new LinkedHashMap<>();
+        List<CoalescedPollTask> coalesced = new ArrayList<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            if (separateTasks.contains(task)) {
+                coalesced.add(new CoalescedPollTask(endpoint, request, Collections.singletonList(task)));
+                continue;
+            }
+            String key = request.getUnitID() + "/" + request.getFunctionCode() + "/" + request.getMaxTries();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            List<PollTask> members = new ArrayList<>();
+            int blockStart = 0;
+            int blockEnd = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                int maxLength = maxReadCount(request.getFunctionCode());
+                if (!members.isEmpty() && start - blockEnd <= Math.max(0, maxGap)
+                        && Math.max(end, blockEnd) - blockStart <= maxLength) {
+                    members.add(task);
+                    blockEnd = Math.max(end, blockEnd);
+                    continue;
+                }
+                if (!members.isEmpty()) {
+                    coalesced.add(createTask(endpoint, members, blockStart, blockEnd, illegalAddressHandler));
+                }
+                members = new ArrayList<>();
+                members.add(task);
+                blockStart = start;
+                blockEnd = end;
+            }
+            if (!members.isEmpty()) {
+                coalesced.add(createTask(endpoint, members, blockStart, blockEnd, illegalAddressHandler));
+            }
+        }
+        return coalesced;
+    }
+
+    private static CoalescedPollTask createTask(ModbusSlaveEndpoint endpoint, List<PollTask> members, int start,
+            int end, @Nullable Consumer<CoalescedPollTask> illegalAddressHandler) {
+        ModbusReadRequestBlueprint first = members.get(0).getRequest();
+        if (members.size() == 1) {
+            return new CoalescedPollTask(endpoint, first, members);
+        }
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(first.getUnitID(),
+                first.getFunctionCode(), start, end - start, first.getMaxTries());
+        return new CoalescedPollTask(endpoint, request, members, illegalAddressHandler);
+    }
+
+    private static int maxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
@@ -130,6 +131,8 @@ public class ModbusSlaveConnectionFactoryImpl
     private volatile Map<ModbusSlaveEndpoint, Long> lastConnectMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> disconnectIfConnectedBefore = new ConcurrentHashMap<>();
     private volatile Function<ModbusSlaveEndpoint, @Nullable EndpointPoolConfiguration> defaultPoolConfigurationFactory = endpoint -> null;
+    private volatile BiConsumer<ModbusSlaveEndpoint, Long> interTransactionWaitListener = (endpoint, waited) -> {
+    };
 
     private @Nullable InetAddress getInetAddress(ModbusIPSlaveEndpoint key) {
         try {
@@ -214,6 +217,7 @@ public class ModbusSlaveConnectionFactoryImpl
                 logger.trace(
                         "Waited {}ms (interTransactionDelayMillis {}ms) before giving returning connection {} for endpoint {}, to ensure delay between transactions.",
                         waited, config.getInterTransactionDelayMillis(), obj.getObject(), endpoint);
+                interTransactionWaitListener.accept(endpoint, waited);
             }
         } catch (InterruptedException e) {
             // Someone wants to cancel us, reset the connection and abort
@@ -285,6 +289,15 @@ public class ModbusSlaveConnectionFactoryImpl
         this.defaultPoolConfigurationFactory = defaultPoolConfigurationFactory;
     }
 
+    /**
+     * Set listener notified of the time waited before returning connection, to ensure delay between transactions
+     *
+     * @param interTransactionWaitListener listener receiving the endpoint and the time waited, in milliseconds
+     */
+    public void setInterTransactionWaitListener(BiConsumer<ModbusSlaveEndpoint, Long> interTransactionWaitListener) {
+        this.interTransactionWaitListener = interTransactionWaitListener;
+    }
+
     private void tryConnect(ModbusSlaveEndpoint endpoint, PooledObject<ModbusSlaveConnection> obj,
             ModbusSlaveConnection connection, @Nullable EndpointPoolConfiguration config) throws Exception {
         if (connection.isConnected()) {
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.EndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.LatencyHistogram;
+import org.openhab.io.transport.modbus.internal.EndpointMetricsRecorder;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.msg.ReadCoilsRequest;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class EndpointMetricsRecorderTest {
+
+    @Test
+    public void testLatencyHistogram() {
+        EndpointMetricsRecorder recorder = new EndpointMetricsRecorder();
+        recorder.recordSuccess(0);
+        recorder.recordSuccess(5);
+        recorder.recordSuccess(6);
+        recorder.recordSuccess(100_000);
+
+        EndpointMetrics metrics = recorder.snapshot(1, 2);
+        assertThat(metrics.getSuccessfulTransactions(), is(equalTo(4L)));
+        LatencyHistogram latency = metrics.getTransactionLatency();
+        assertThat(latency.getCount(), is(equalTo(4L)));
+        assertThat(latency.getMaxMillis(), is(equalTo(100_000L)));
+        assertThat(latency.getTotalMillis(), is(equalTo(100_011L)));
+        long[] counts = latency.getBucketCounts();
+        assertThat(counts[0], is(equalTo(2L)));
+        assertThat(counts[1], is(equalTo(1L)));
+        assertThat(counts[counts.length - 1], is(equalTo(1L)));
+        assertThat(metrics.getPoolActive(), is(equalTo(1)));
+        assertThat(metrics.getPoolIdle(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testErrors() {
+        EndpointMetricsRecorder recorder = new EndpointMetricsRecorder();
+        recorder.recordConnectionBorrow(3, true);
+        recorder.recordConnectionBorrow(3, false);
+        recorder.recordIOError();
+        recorder.recordTimeout();
+        recorder.recordTimeout();
+        recorder.recordSlaveError(2);
+        recorder.recordSlaveError(2);
+        recorder.recordSlaveError(4);
+        recorder.recordUnexpectedTransactionId();
+        recorder.recordUnexpectedResponse();
+
+        EndpointMetrics metrics = recorder.snapshot(0, 0);
+        assertThat(metrics.getConnectionBorrowTime().getCount(), is(equalTo(2L)));
+        assertThat(metrics.getConnectionErrors(), is(equalTo(1L)));
+        assertThat(metrics.getIoErrors(), is(equalTo(3L)));
+        assertThat(metrics.getTimeouts(), is(equalTo(2L)));
+        assertThat(metrics.getSlaveErrorsByExceptionCode().get(2), is(equalTo(2L)));
+        assertThat(metrics.getSlaveErrorsByExceptionCode().get(4), is(equalTo(1L)));
+        assertThat(metrics.getUnexpectedTransactionIds(), is(equalTo(1L)));
+        assertThat(metrics.getUnexpectedResponses(), is(equalTo(1L)));
+        assertThat(metrics.getSuccessfulTransactions(), is(equalTo(0L)));
+    }
+
+    /**
+     * Execute read over connection to the server, returning the time it took to fail
+     */
+    private long failedReadMillis(TCPMasterConnection connection) throws Exception {
+        connection.setTimeout(200);
+        connection.connect();
+        try {
+            connection.getModbusTransport().writeMessage(new ReadCoilsRequest(0, 1));
+            long start = System.currentTimeMillis();
+            try {
+                connection.getModbusTransport().readResponse();
+            } catch (ModbusIOException e) {
+                return System.currentTimeMillis() - start;
+            }
+            throw new AssertionError("Read should have failed");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testSocketTimeoutIsRecordedAsTimeout() throws Exception {
+        EndpointMetricsRecorder recorder = new EndpointMetricsRecorder();
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(0, 1, loopback)) {
+            // Server accepts the connection but never responds
+            TCPMasterConnection connection = new TCPMasterConnection(loopback, server.getLocalPort(), 1000);
+            recorder.recordIOError(connection, failedReadMillis(connection));
+        }
+
+        EndpointMetrics metrics = recorder.snapshot(0, 0);
+        assertThat(metrics.getIoErrors(), is(equalTo(1L)));
+        assertThat(metrics.getTimeouts(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testClosedConnectionIsNotRecordedAsTimeout() throws Exception {
+        EndpointMetricsRecorder recorder = new EndpointMetricsRecorder();
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(0, 1, loopback)) {
+            Thread closer = new Thread(() -> {
+                try (Socket socket = server.accept()) {
+                    // Close the connection without responding
+                } catch (Exception e) {
+                    // test fails on missing I/O error
+                }
+            });
+            closer.start();
+            TCPMasterConnection connection = new TCPMasterConnection(loopback, server.getLocalPort(), 1000);
+            recorder.recordIOError(connection, failedReadMillis(connection));
+            closer.join();
+        }
+
+        EndpointMetrics metrics = recorder.snapshot(0, 0);
+        assertThat(metrics.getIoErrors(), is(equalTo(1L)));
+        assertThat(metrics.getTimeouts(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testToMapHasCumulativeBuckets() {
+        EndpointMetricsRecorder recorder = new EndpointMetricsRecorder();
+        recorder.recordSuccess(1);
+        recorder.recordSuccess(20);
+        recorder.recordSlaveError(3);
+
+        Map<String, Number> map = recorder.snapshot(0, 1).toMap();
+        assertThat(map.get("transactionLatency.le.5"), is(equalTo(1L)));
+        assertThat(map.get("transactionLatency.le.10"), is(equalTo(1L)));
+        assertThat(map.get("transactionLatency.le.25"), is(equalTo(2L)));
+        assertThat(map.get("transactionLatency.le.5000"), is(equalTo(2L)));
+        assertThat(map.get("transactionLatency.count"), is(equalTo(2L)));
+        assertThat(map.get("slaveErrors.code.3"), is(equalTo(1L)));
+        assertThat(map.get("pool.idle"), is(equalTo(1)));
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointQueueStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.BasicPollTask;
+import org.openhab.io.transport.modbus.internal.EndpointTaskQueue;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class EndpointTaskQueueTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final EndpointTaskQueue queue = new EndpointTaskQueue(endpoint, "test");
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final ModbusReadCallback resultCallback = result -> {
+    };
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = failure -> {
+    };
+
+    @After
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    private PollTask pollTask(int start) {
+        return new BasicPollTask(endpoint,
+                new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, start, 1, 1), resultCallback,
+                failureCallback);
+    }
+
+    private CountDownLatch blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submitWrite(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        return release;
+    }
+
+    @Test
+    public void testWritesArePrioritizedOverPolls() throws Exception {
+        CountDownLatch release = blockWorker();
+        queue.submitPoll(pollTask(0), false, () -> executed.add("poll1"));
+        queue.submitPoll(pollTask(1), false, () -> executed.add("poll2"));
+        queue.submitWrite(() -> executed.add("write1"));
+        Future<?> last = queue.submitWrite(() -> executed.add("write2"));
+        release.countDown();
+        last.get(5, TimeUnit.SECONDS);
+        Future<?> poll = queue.submitPoll(pollTask(2), false, () -> executed.add("poll3"));
+        poll.get(5, TimeUnit.SECONDS);
+
+        assertThat(executed.toString(), is(equalTo("[write1, write2, poll1, poll2, poll3]")));
+    }
+
+    @Test
+    public void testDuplicatePollsAreDropped() throws Exception {
+        CountDownLatch release = blockWorker();
+        Future<?> first = queue.submitPoll(pollTask(0), false, () -> executed.add("poll1"));
+        Future<?> second = queue.submitPoll(pollTask(0), false, () -> executed.add("poll1-duplicate"));
+        assertThat(second, is(sameInstance(first)));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        // Once executed, equal poll is queued again
+        queue.submitPoll(pollTask(0), false, () -> executed.add("poll1-again")).get(5, TimeUnit.SECONDS);
+
+        assertThat(executed.toString(), is(equalTo("[poll1, poll1-again]")));
+        EndpointQueueStatistics statistics = queue.getStatistics();
+        assertThat(statistics.getDroppedPolls(), is(equalTo(1L)));
+        assertThat(statistics.getExecutedTasks(), is(equalTo(3L)));
+        assertThat(statistics.getQueueSize(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testOneOffPollsAreNotDropped() throws Exception {
+        CountDownLatch release = blockWorker();
+        Future<?> scheduled = queue.submitPoll(pollTask(0), false, () -> executed.add("scheduled"));
+        Future<?> oneOff = queue.submitPoll(pollTask(0), true, () -> executed.add("one-off"));
+        assertThat(oneOff, is(not(sameInstance(scheduled))));
+        // Scheduled polls are still merged with the queued poll
+        assertThat(queue.submitPoll(pollTask(0), false, () -> executed.add("scheduled-duplicate")),
+                is(sameInstance(scheduled)));
+        release.countDown();
+        oneOff.get(5, TimeUnit.SECONDS);
+
+        assertThat(executed.toString(), is(equalTo("[scheduled, one-off]")));
+        assertThat(queue.getStatistics().getDroppedPolls(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testDrainPolls() throws Exception {
+        CountDownLatch release = blockWorker();
+        queue.submitPoll(pollTask(0), false, () -> executed.add("poll1"));
+        queue.submitPoll(pollTask(1), true, () -> executed.add("poll2"));
+        Future<?> last = queue.submitPoll(pollTask(2), false, () -> executed.add("poll3"));
+
+        List<EndpointTaskQueue.QueuedTask> drained = queue.drainPolls(2);
+        assertThat(drained.size(), is(equalTo(2)));
+        assertThat(drained.get(0).getPollTask(), is(equalTo(pollTask(0))));
+        assertThat(drained.get(0).isOneOff(), is(false));
+        assertThat(drained.get(1).getPollTask(), is(equalTo(pollTask(1))));
+        assertThat(drained.get(1).isOneOff(), is(true));
+        drained.forEach(EndpointTaskQueue.QueuedTask::markDone);
+        assertThat(drained.get(0).isDone(), is(true));
+
+        release.countDown();
+        last.get(5, TimeUnit.SECONDS);
+        assertThat(executed.toString(), is(equalTo("[poll3]")));
+    }
+
+    @Test
+    public void testPollsAreNotDrainedWhenWritesAreQueued() throws Exception {
+        CountDownLatch release = blockWorker();
+        queue.submitPoll(pollTask(0), false, () -> executed.add("poll1"));
+        queue.submitWrite(() -> executed.add("write1"));
+
+        assertThat(queue.drainPolls(2).size(), is(equalTo(0)));
+        release.countDown();
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.PipelinedTCPTransaction;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadCoilsRequest;
+import net.wimpi.modbus.msg.ReadCoilsResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class PipelinedTCPTransactionTest {
+
+    private final TCPMasterConnection connection = mock(TCPMasterConnection.class);
+    private final ModbusTransport transport = mock(ModbusTransport.class);
+    private final List<ModbusRequest> sent = new ArrayList<>();
+    /**
+     * Responses to return from the transport, by the index of the request they respond to. Negative index means
+     * response with unknown transaction id.
+     */
+    private final Queue<Integer> responseOrder = new LinkedList<>();
+    private long responseDelayMillis;
+    private boolean socketTimeoutWhenNoResponses;
+    private int socketTimeout;
+
+    @Before
+    public void setUp() throws Exception {
+        when(connection.getModbusTransport()).thenReturn(transport);
+        when(connection.getTimeout()).thenReturn(3000);
+        doAnswer(invocation -> socketTimeout = invocation.getArgument(0)).when(connection).setTimeout(anyInt());
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(transport)
+                .writeMessage(any(ModbusMessage.class));
+        when(transport.readResponse()).thenAnswer(invocation -> {
+            Thread.sleep(responseDelayMillis);
+            Integer index = responseOrder.poll();
+            if (index == null) {
+                if (socketTimeoutWhenNoResponses) {
+                    // Socket times out, jamod transport reports it like any other read failure
+                    Thread.sleep(socketTimeout);
+                }
+                throw new ModbusIOException("I/O exception - failed to read.");
+            }
+            ModbusResponse response = new ReadCoilsResponse(1);
+            response.setTransactionID(index < 0 ? 0 : sent.get(index).getTransactionID());
+            return response;
+        });
+    }
+
+    private List<ModbusRequest> requests(int count) {
+        List<ModbusRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new ReadCoilsRequest(i, 1));
+        }
+        return requests;
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() {
+        List<ModbusRequest> requests = requests(3);
+        responseOrder.addAll(Arrays.asList(2, 0, 1));
+        PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(connection, 1000);
+
+        transaction.execute(requests);
+
+        assertThat(sent, is(equalTo(requests)));
+        assertThat(requests.get(0).getTransactionID(), is(not(equalTo(requests.get(1).getTransactionID()))));
+        for (ModbusRequest request : requests) {
+            assertThat(transaction.getResponse(request).getTransactionID(), is(equalTo(request.getTransactionID())));
+        }
+        assertThat(transaction.getError(), is(nullValue()));
+        assertThat(transaction.hasUnansweredRequests(), is(false));
+        verify(connection).setTimeout(3000);
+    }
+
+    @Test
+    public void testResponsesWithUnknownTransactionIdAreIgnored() {
+        List<ModbusRequest> requests = requests(2);
+        responseOrder.addAll(Arrays.asList(1, -1, 0));
+        PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(connection, 1000);
+
+        transaction.execute(requests);
+
+        assertThat(transaction.getResponse(requests.get(0)), is(notNullValue()));
+        assertThat(transaction.getResponse(requests.get(1)), is(notNullValue()));
+        assertThat(transaction.hasUnansweredRequests(), is(false));
+    }
+
+    @Test
+    public void testDeadlineExpiryLeavesRequestsUnanswered() {
+        List<ModbusRequest> requests = requests(2);
+        // Only unexpected responses arrive until the deadline has passed
+        responseOrder.addAll(Arrays.asList(-1, -1, -1, 0, 1));
+        responseDelayMillis = 30;
+        PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(connection, 50);
+
+        transaction.execute(requests);
+
+        assertThat(transaction.getResponse(requests.get(0)), is(nullValue()));
+        assertThat(transaction.getResponse(requests.get(1)), is(nullValue()));
+        assertThat(transaction.getError(), is(nullValue()));
+        assertThat(transaction.hasUnansweredRequests(), is(true));
+        verify(connection).setTimeout(3000);
+    }
+
+    @Test
+    public void testSocketTimeoutIsNotAnError() {
+        List<ModbusRequest> requests = requests(2);
+        responseOrder.add(1);
+        socketTimeoutWhenNoResponses = true;
+        PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(connection, 1000);
+
+        transaction.execute(requests);
+
+        assertThat(transaction.getResponse(requests.get(0)), is(nullValue()));
+        assertThat(transaction.getResponse(requests.get(1)), is(notNullValue()));
+        assertThat(transaction.getError(), is(nullValue()));
+        assertThat(transaction.hasUnansweredRequests(), is(true));
+    }
+
+    @Test
+    public void testIOErrorAbortsTransaction() {
+        List<ModbusRequest> requests = requests(2);
+        responseOrder.add(0);
+        PipelinedTCPTransaction transaction = new PipelinedTCPTransaction(connection, 1000);
+
+        transaction.execute(requests);
+
+        assertThat(transaction.getResponse(requests.get(0)), is(notNullValue()));
+        assertThat(transaction.getResponse(requests.get(1)), is(nullValue()));
+        assertThat(transaction.getError(), is(notNullValue()));
+        assertThat(transaction.hasUnansweredRequests(), is(true));
+    }
+}
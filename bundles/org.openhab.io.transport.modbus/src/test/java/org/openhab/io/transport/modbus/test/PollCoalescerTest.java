@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.BasicPollTask;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusSlaveErrorResponseExceptionImpl;
+import org.openhab.io.transport.modbus.internal.PollCoalescer;
+
+import net.wimpi.modbus.ModbusSlaveException;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class PollCoalescerTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length) {
+        return task(functionCode, start, length, 1);
+    }
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length, int maxTries) {
+        return new BasicPollTask(endpoint, new ModbusReadRequestBlueprint(1, functionCode, start, length, maxTries),
+                results::add, failures::add);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRegistersAreMerged() {
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 4)),
+                0);
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(15)));
+        assertThat(coalesced.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapLimit() {
+        List<PollTask> tasks = Arrays.asList(task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2),
+                task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2));
+        assertThat(PollCoalescer.coalesce(endpoint, tasks, 2).size(), is(equalTo(2)));
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint, tasks, 3);
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAreNotMerged() {
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2)),
+                0);
+        assertThat(coalesced.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 26)),
+                0);
+        assertThat(coalesced.size(), is(equalTo(2)));
+
+        coalesced = PollCoalescer.coalesce(endpoint, Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 1000),
+                task(ModbusReadFunctionCode.READ_COILS, 1000, 1000)), 0);
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testRegisterResultIsSlicedToMembers() {
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 8, 1);
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint, Arrays.asList(first, second), 1).get(0);
+
+        coalesced.getResultCallback()
+                .handle(new AsyncModbusReadResult(coalesced.getRequest(), new ModbusRegisterArray(1, 2, 3, 4)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(results.get(0).getRegisters().get().toHexString(), is(equalTo("00 01 00 02")));
+        assertThat(results.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(results.get(1).getRegisters().get().toHexString(), is(equalTo("00 04")));
+    }
+
+    @Test
+    public void testBitResultIsSlicedToMembers() {
+        PollTask first = task(ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_COILS, 2, 3);
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint, Arrays.asList(first, second), 0).get(0);
+
+        coalesced.getResultCallback().handle(new AsyncModbusReadResult(coalesced.getRequest(),
+                new BitArray(true, false, false, true, true)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getBits().get(), is(equalTo(new BitArray(true, false))));
+        assertThat(results.get(1).getBits().get(), is(equalTo(new BitArray(false, true, true))));
+    }
+
+    @Test
+    public void testFailureIsReportedToAllMembers() {
+        PollTask first = task(ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_COILS, 2, 3);
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint, Arrays.asList(first, second), 0).get(0);
+
+        Exception error = new Exception("fail");
+        coalesced.getFailureCallback().handle(new AsyncModbusFailure<>(coalesced.getRequest(), error));
+
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(failures.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(failures.get(1).getCause(), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testDifferentMaxTriesAreNotMerged() {
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2, 1),
+                        task(ModbusReadFunctionCode.READ_COILS, 2, 2, 3)),
+                0);
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0).getRequest().getMaxTries(), is(equalTo(1)));
+        assertThat(coalesced.get(1).getRequest().getMaxTries(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testSeparateTasksAreNotMerged() {
+        PollTask first = task(ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_COILS, 2, 2);
+        PollTask third = task(ModbusReadFunctionCode.READ_COILS, 4, 2);
+        List<CoalescedPollTask> coalesced = PollCoalescer.coalesce(endpoint, Arrays.asList(first, second, third), 2,
+                Collections.singleton(second), null);
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0).getMembers(), is(equalTo(Collections.singletonList(second))));
+        assertThat(coalesced.get(0).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(coalesced.get(1).getMembers(), is(equalTo(Arrays.asList(first, third))));
+    }
+
+    @Test
+    public void testIllegalDataAddressIsHandedToHandler() {
+        List<CoalescedPollTask> rejected = new ArrayList<>();
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_COILS, 4, 2)),
+                2, Collections.emptySet(), rejected::add).get(0);
+
+        coalesced.getFailureCallback().handle(new AsyncModbusFailure<>(coalesced.getRequest(),
+                new ModbusSlaveErrorResponseExceptionImpl(new ModbusSlaveException(2))));
+
+        assertThat(failures.size(), is(equalTo(0)));
+        assertThat(rejected, is(equalTo(Collections.singletonList(coalesced))));
+    }
+
+    @Test
+    public void testOtherSlaveErrorsAreReportedToMembers() {
+        List<CoalescedPollTask> rejected = new ArrayList<>();
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint,
+                Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_COILS, 4, 2)),
+                2, Collections.emptySet(), rejected::add).get(0);
+
+        coalesced.getFailureCallback().handle(new AsyncModbusFailure<>(coalesced.getRequest(),
+                new ModbusSlaveErrorResponseExceptionImpl(new ModbusSlaveException(4))));
+
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(rejected.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testSameRequestAndMembers() {
+        List<PollTask> tasks = Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2),
+                task(ModbusReadFunctionCode.READ_COILS, 2, 2));
+        CoalescedPollTask coalesced = PollCoalescer.coalesce(endpoint, tasks, 0).get(0);
+        assertThat(coalesced.hasSameRequestAndMembers(PollCoalescer.coalesce(endpoint, tasks, 0).get(0)), is(true));
+        assertThat(coalesced.hasSameRequestAndMembers(
+                PollCoalescer.coalesce(endpoint, tasks.subList(0, 1), 0).get(0)), is(false));
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+/**
+ * The {@link ExecTransformationConfiguration} class contains fields mapping the service configuration parameters.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExecTransformationConfiguration {
+    /** Maximum number of worker processes per command line */
+    public int workerPoolSize = 1;
+    /** Time in milliseconds to wait for the result of a worker */
+    public long workerTimeout = 5000;
+}
@@ -12,13 +12,21 @@
  */
 package org.openhab.transform.exec.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.io.net.exec.ExecUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,26 +35,60 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * input by command line.
  *
+ * Command lines starting with <code>worker:</code> are started once and kept running. Values are sent to such a worker
+ * line by line, see {@link ExecWorker}.
+ *
  * @author Pauli Anttila - Initial contribution
  * @author Jan N. Klug - added command whitelist service
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=EXEC" })
+@Component(immediate = true, configurationPid = "transform.exec", property = { "smarthome.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    /** Prefix of command lines to run as persistent worker */
+    static final String WORKER_PREFIX = "worker:";
+    private static final String THREADPOOL_NAME = "transform.exec";
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final Map<String, ExecWorkerPool> workerPools = new ConcurrentHashMap<>();
+    private final Runnable whitelistListener = this::closeRemovedWorkerPools;
+
+    private volatile ExecTransformationConfiguration configuration = new ExecTransformationConfiguration();
 
     @Activate
     public ExecTransformationService(
-            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService) {
+            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService,
+            @Nullable Map<String, Object> config) {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
+        execTransformationWhitelistWatchService.addWhitelistListener(whitelistListener);
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        if (config == null) {
+            return;
+        }
+        configuration = new Configuration(config).as(ExecTransformationConfiguration.class);
+        // running workers are replaced by workers with the new configuration
+        closeWorkerPools();
+        logger.debug("Exec worker pool size {}, timeout {} ms", configuration.workerPoolSize,
+                configuration.workerTimeout);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        execTransformationWhitelistWatchService.removeWhitelistListener(whitelistListener);
+        closeWorkerPools();
     }
 
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. Command lines starting with <code>worker:</code> are run as persistent worker which
+     *            gets the input data on its standard input instead.
      * @param source the input to transform
      */
     @Override
@@ -59,6 +101,9 @@ public class ExecTransformationService implements TransformationService {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
             return null;
         }
+        if (commandLine.startsWith(WORKER_PREFIX)) {
+            return transformByWorker(commandLine, source);
+        }
         logger.debug("about to transform '{}' by the commandline '{}'", source, commandLine);
 
         long startTime = System.currentTimeMillis();
@@ -69,4 +114,38 @@ public class ExecTransformationService implements TransformationService {
 
         return result;
     }
+
+    private String transformByWorker(String commandLine, String source) throws TransformationException {
+        if (source.indexOf('\n') >= 0 || source.indexOf('\r') >= 0) {
+            throw new TransformationException("the input of worker '" + commandLine + "' must not contain line breaks");
+        }
+        logger.debug("about to transform '{}' by the worker '{}'", source, commandLine);
+
+        long startTime = System.currentTimeMillis();
+
+        ExecTransformationConfiguration configuration = this.configuration;
+        ExecWorkerPool pool = workerPools.computeIfAbsent(commandLine,
+                key -> new ExecWorkerPool(key.substring(WORKER_PREFIX.length()),
+                        Math.max(1, configuration.workerPoolSize), configuration.workerTimeout, scheduler));
+        String result = pool.transform(source);
+        logger.trace("worker execution elapsed {} ms", System.currentTimeMillis() - startTime);
+
+        return result;
+    }
+
+    private void closeWorkerPool(String commandLine) {
+        ExecWorkerPool pool = workerPools.remove(commandLine);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private void closeWorkerPools() {
+        workerPools.keySet().forEach(this::closeWorkerPool);
+    }
+
+    private void closeRemovedWorkerPools() {
+        workerPools.keySet().stream().filter(commandLine -> !execTransformationWhitelistWatchService
+                .isWhitelisted(commandLine)).forEach(this::closeWorkerPool);
+    }
 }
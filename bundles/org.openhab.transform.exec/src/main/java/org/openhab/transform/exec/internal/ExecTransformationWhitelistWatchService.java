@@ -21,8 +21,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -45,7 +47,8 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
     private static final String COMMAND_WHITELIST_FILE = "exec.whitelist";
 
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationWhitelistWatchService.class);
-    private final Set<String> commandWhitelist = new HashSet<>();
+    private final Set<Runnable> whitelistListeners = new CopyOnWriteArraySet<>();
+    private volatile Set<String> commandWhitelist = Collections.emptySet();
 
     @Activate
     public ExecTransformationWhitelistWatchService() {
@@ -66,16 +69,36 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
     @Override
     protected void processWatchEvent(@Nullable WatchEvent<?> event, @Nullable Kind<?> kind, @Nullable Path path) {
         if (path != null && path.endsWith(COMMAND_WHITELIST_FILE)) {
-            commandWhitelist.clear();
             try {
-                Files.lines(path).filter(line -> !line.trim().startsWith("#")).forEach(commandWhitelist::add);
+                commandWhitelist = Files.lines(path).filter(line -> !line.trim().startsWith("#"))
+                        .collect(Collectors.toSet());
                 logger.debug("Updated command whitelist: {}", commandWhitelist);
             } catch (IOException e) {
+                commandWhitelist = Collections.emptySet();
                 logger.warn("Cannot read whitelist file, exec transformations won't be processed: {}", e.getMessage());
             }
+            whitelistListeners.forEach(Runnable::run);
         }
     }
 
+    /**
+     * Adds a listener called after the whitelist has changed
+     *
+     * @param listener the listener
+     */
+    public void addWhitelistListener(Runnable listener) {
+        whitelistListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added by {@link #addWhitelistListener(Runnable)}
+     *
+     * @param listener the listener
+     */
+    public void removeWhitelistListener(Runnable listener) {
+        whitelistListeners.remove(listener);
+    }
+
     /**
      * Check if a command is whitelisted
      *
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived process transforming values line by line.
+ *
+ * Every value is written as one line to the standard input of the process, the next line on its standard output is
+ * the result. Output on the standard error of the process is logged after every value. A worker is used by one thread
+ * at a time.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ExecWorker {
+
+    /**
+     * Signals that a value could not be written to the worker, so the worker did not see it.
+     */
+    @SuppressWarnings("serial")
+    static class WriteFailedException extends IOException {
+        WriteFailedException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final String commandLine;
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BufferedReader reader;
+
+    /**
+     * Starts the worker process.
+     *
+     * @param cmdArray the command and its arguments
+     * @throws IOException if the process cannot be started
+     */
+    ExecWorker(String[] cmdArray) throws IOException {
+        commandLine = String.join(" ", cmdArray);
+        process = new ProcessBuilder(cmdArray).start();
+        writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks if the worker can take the next value: the process is running and has no output left over that could be
+     * mistaken for the result of the next value.
+     */
+    boolean isInSync() {
+        try {
+            return process.isAlive() && !reader.ready();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends a value to the worker and waits for its result.
+     *
+     * If no result arrives in time, the process is killed, as its next output could not be told apart from the result
+     * of a later value.
+     *
+     * @param input the value, without line breaks
+     * @param timeout the time in milliseconds to wait for the result
+     * @param scheduler the scheduler for the timeout
+     * @return the result
+     * @throws WriteFailedException if the value could not be written to the process
+     * @throws IOException if the process terminated or the communication with it failed
+     * @throws TimeoutException if the process did not answer in time and was killed
+     */
+    String process(String input, long timeout, ScheduledExecutorService scheduler)
+            throws IOException, TimeoutException {
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> watchdog = scheduler.schedule(() -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+        }, timeout, TimeUnit.MILLISECONDS);
+        try {
+            try {
+                writer.write(input);
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                if (timedOut.get()) {
+                    throw new TimeoutException("no answer within " + timeout + " ms");
+                }
+                throw new WriteFailedException(e);
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                throw new EOFException("worker process terminated");
+            }
+            return line;
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new TimeoutException("no answer within " + timeout + " ms");
+            }
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+            logErrorOutput();
+        }
+    }
+
+    /**
+     * Logs what the process has written to its standard error so far, without waiting for more.
+     */
+    private void logErrorOutput() {
+        try {
+            InputStream error = process.getErrorStream();
+            int available = error.available();
+            if (available > 0) {
+                byte[] buffer = new byte[available];
+                int length = error.read(buffer);
+                if (length > 0) {
+                    logger.warn("Worker '{}' reported: {}", commandLine,
+                            new String(buffer, 0, length, StandardCharsets.UTF_8).trim());
+                }
+            }
+        } catch (IOException e) {
+            // the process is gone
+        }
+    }
+
+    /**
+     * Terminates the worker process.
+     */
+    void close() {
+        process.destroy();
+        logErrorOutput();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // the process is gone anyway
+        }
+    }
+}
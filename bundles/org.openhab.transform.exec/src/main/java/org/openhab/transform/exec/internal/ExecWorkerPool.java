@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The worker processes of one command line.
+ *
+ * Workers are started on demand, up to the pool size. If all workers are busy, callers wait for one to become
+ * available. A worker that terminated or is out of sync is restarted. A value is sent once more to a new worker only if
+ * it could not be written to the first one, values a worker has seen are never sent twice.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ExecWorkerPool {
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorkerPool.class);
+
+    private final String commandLine;
+    private final String[] cmdArray;
+    private final long timeout;
+    private final ScheduledExecutorService scheduler;
+    private final Queue<ExecWorker> idle = new ConcurrentLinkedQueue<>();
+    private final Semaphore available;
+    private volatile boolean closed;
+
+    /**
+     * @param commandLine the command line of the workers, arguments separated by spaces or '@@'
+     * @param size maximum number of worker processes
+     * @param timeout the time in milliseconds to wait for a result
+     * @param scheduler the scheduler for timeouts
+     */
+    ExecWorkerPool(String commandLine, int size, long timeout, ScheduledExecutorService scheduler) {
+        this.commandLine = commandLine;
+        this.cmdArray = commandLine.contains("@@") ? commandLine.split("@@") : commandLine.trim().split("\\s+");
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+        this.available = new Semaphore(size);
+    }
+
+    /**
+     * Transforms a value by an idle worker.
+     *
+     * @param input the value, without line breaks
+     * @return the result of the worker
+     * @throws TransformationException if no worker could be started, the worker failed or did not answer in time
+     */
+    String transform(String input) throws TransformationException {
+        try {
+            available.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for worker '" + commandLine + "'");
+        }
+        ExecWorker worker = idle.poll();
+        try {
+            for (int attempt = 0;; attempt++) {
+                if (worker == null || !worker.isInSync()) {
+                    if (worker != null) {
+                        logger.debug("Worker '{}' terminated or out of sync, restarting it", commandLine);
+                        worker.close();
+                        worker = null;
+                    }
+                    worker = start();
+                }
+                try {
+                    return worker.process(input, timeout, scheduler);
+                } catch (ExecWorker.WriteFailedException e) {
+                    worker.close();
+                    worker = null;
+                    if (attempt > 0) {
+                        throw failed(input, e);
+                    }
+                    logger.debug("Writing to worker '{}' failed, retrying with a new worker: {}", commandLine,
+                            e.getMessage());
+                } catch (IOException | TimeoutException e) {
+                    worker.close();
+                    worker = null;
+                    throw failed(input, e);
+                } catch (RuntimeException e) {
+                    worker.close();
+                    worker = null;
+                    throw e;
+                }
+            }
+        } finally {
+            if (worker != null) {
+                idle.add(worker);
+                if (closed && idle.remove(worker)) {
+                    worker.close();
+                }
+            }
+            available.release();
+        }
+    }
+
+    private TransformationException failed(String input, Exception e) {
+        return new TransformationException(
+                "Worker '" + commandLine + "' failed to process '" + input + "': " + e.getMessage(), e);
+    }
+
+    private ExecWorker start() throws TransformationException {
+        try {
+            logger.debug("Starting worker '{}'", commandLine);
+            return new ExecWorker(cmdArray);
+        } catch (IOException e) {
+            throw new TransformationException("Cannot start worker '" + commandLine + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Terminates all idle workers. Workers busy at that time are terminated when they are done.
+     */
+    void close() {
+        closed = true;
+        for (ExecWorker worker = idle.poll(); worker != null; worker = idle.poll()) {
+            worker.close();
+        }
+    }
+}
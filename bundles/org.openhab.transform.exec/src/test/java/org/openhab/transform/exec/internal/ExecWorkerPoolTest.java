@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ExecWorkerPool} with shell scripts echoing their input like <code>cat</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExecWorkerPoolTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private File starts;
+    private ExecWorkerPool pool;
+
+    @Before
+    public void setUp() throws IOException {
+        starts = File.createTempFile("starts", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        scheduler.shutdownNow();
+        starts.delete();
+    }
+
+    /**
+     * Creates a pool of one worker running the given shell script, which is logged in {@link #starts} when started
+     */
+    private ExecWorkerPool pool(String script, long timeout) {
+        pool = new ExecWorkerPool("sh@@-c@@echo started >> " + starts.getAbsolutePath() + "; " + script, 1, timeout,
+                scheduler);
+        return pool;
+    }
+
+    private int getStarts() throws IOException {
+        return Files.readAllLines(starts.toPath()).size();
+    }
+
+    @Test
+    public void testLineProtocol() throws Exception {
+        ExecWorkerPool pool = pool("exec cat", 5000);
+
+        assertEquals("a", pool.transform("a"));
+        assertEquals("b c", pool.transform("b c"));
+        assertEquals("", pool.transform(""));
+        assertEquals(1, getStarts());
+    }
+
+    @Test
+    public void testTerminatedWorkerIsRestarted() throws Exception {
+        ExecWorkerPool pool = pool("read line; echo \"$line\"", 5000);
+
+        assertEquals("a", pool.transform("a"));
+        // wait until the worker has terminated
+        Thread.sleep(500);
+        assertEquals("b", pool.transform("b"));
+        assertEquals(2, getStarts());
+    }
+
+    @Test
+    public void testWorkerOutOfSyncIsRestarted() throws Exception {
+        ExecWorkerPool pool = pool("while read line; do echo \"$line\"; echo extra; done", 5000);
+
+        assertEquals("a", pool.transform("a"));
+        // wait until the extra line has arrived
+        Thread.sleep(500);
+        assertEquals("b", pool.transform("b"));
+        assertEquals(2, getStarts());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        ExecWorkerPool pool = pool(
+                "while read line; do [ \"$line\" = slow ] && sleep 10 >/dev/null; echo \"$line\"; done", 200);
+
+        try {
+            pool.transform("slow");
+            fail();
+        } catch (TransformationException e) {
+            assertTrue(e.getMessage().contains("no answer within 200 ms"));
+        }
+        assertEquals("a", pool.transform("a"));
+        assertEquals(2, getStarts());
+    }
+
+    @Test
+    public void testFailedWriteIsRetried() throws Exception {
+        // the worker answers the first value and then closes its standard input
+        ExecWorkerPool pool = pool("read line; echo \"$line\"; exec 0<&-; sleep 10", 5000);
+
+        assertEquals("a", pool.transform("a"));
+        // wait until the standard input is closed
+        Thread.sleep(500);
+        assertEquals("b", pool.transform("b"));
+        assertEquals(2, getStarts());
+    }
+
+    @Test
+    public void testFailedReadIsNotRetried() throws Exception {
+        ExecWorkerPool pool = pool("while read line; do [ \"$line\" = crash ] && exit 1; echo \"$line\"; done", 5000);
+
+        try {
+            pool.transform("crash");
+            fail();
+        } catch (TransformationException e) {
+            assertEquals(1, getStarts());
+        }
+        assertEquals("a", pool.transform("a"));
+        assertEquals(2, getStarts());
+    }
+}
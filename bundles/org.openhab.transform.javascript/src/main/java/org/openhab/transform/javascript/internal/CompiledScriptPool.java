@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * A pool of compiled instances of one JavaScript file.
+ *
+ * Script engines are not thread-safe, so every instance is compiled on its own engine and used by one thread at a
+ * time. Every evaluation gets fresh {@link Bindings}, so variables set by one execution are not seen by the next one.
+ * Instances are created on demand, up to the pool size. If all instances are busy, callers wait for one to become
+ * available.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class CompiledScriptPool {
+
+    private final String filename;
+    private final String source;
+    private final ScriptEngineManager manager;
+    private final Queue<CompiledScript> idle = new ConcurrentLinkedQueue<>();
+    private final Semaphore available;
+    private final long timeout;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates a pool and compiles its first instance, to fail early on syntax errors.
+     *
+     * @param filename name of the JavaScript file
+     * @param source the JavaScript source
+     * @param manager the manager to get script engines from
+     * @param size maximum number of instances
+     * @param timeout the time in milliseconds to wait for an idle instance
+     * @throws TransformationException if the script cannot be compiled
+     */
+    CompiledScriptPool(String filename, String source, ScriptEngineManager manager, int size, long timeout)
+            throws TransformationException {
+        this.filename = filename;
+        this.source = source;
+        this.manager = manager;
+        this.available = new Semaphore(size);
+        this.timeout = timeout;
+        idle.add(compile());
+    }
+
+    /**
+     * Evaluates the script on an idle instance, with the given input bound to the variable 'input'.
+     *
+     * @param input the input of the script
+     * @return the result of the script
+     * @throws TransformationException if the script fails, no instance becomes idle in time or the thread is
+     *             interrupted while waiting
+     */
+    @Nullable
+    Object eval(String input) throws TransformationException {
+        return eval(input, elapsedMillis -> {
+        });
+    }
+
+    /**
+     * Evaluates the script on an idle instance, with the given input bound to the variable 'input'.
+     *
+     * @param input the input of the script
+     * @param executionListener called with the execution time in milliseconds, excluding the time waiting for an
+     *            idle instance
+     * @return the result of the script
+     * @throws TransformationException if the script fails, no instance becomes idle in time or the thread is
+     *             interrupted while waiting
+     */
+    @Nullable
+    Object eval(String input, LongConsumer executionListener) throws TransformationException {
+        try {
+            if (!available.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new TransformationException(
+                        "Timed out after " + timeout + " ms waiting for an idle instance of JavaScript " + filename);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for JavaScript " + filename);
+        }
+        CompiledScript script = null;
+        try {
+            script = idle.poll();
+            if (script == null) {
+                script = compile();
+            }
+            final Bindings bindings = script.getEngine().createBindings();
+            bindings.put("input", input);
+            final long start = System.nanoTime();
+            try {
+                return script.eval(bindings);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                record(nanos);
+                executionListener.accept(TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
+        } finally {
+            if (script != null) {
+                idle.add(script);
+            }
+            available.release();
+        }
+    }
+
+    private CompiledScript compile() throws TransformationException {
+        try {
+            final ScriptEngine engine = manager.getEngineByName("javascript");
+            return ((Compilable) engine).compile(source);
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    private void record(long nanos) {
+        executions.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long getExecutions() {
+        return executions.sum();
+    }
+
+    long getAverageMillis() {
+        long count = executions.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count);
+    }
+
+    long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+}
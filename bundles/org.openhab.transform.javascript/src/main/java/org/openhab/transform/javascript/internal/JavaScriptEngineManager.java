@@ -13,67 +13,106 @@
 package org.openhab.transform.javascript.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import javax.script.Compilable;
-import javax.script.CompiledScript;
-import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.transform.TransformationException;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Simple cache for compiled JavaScript files.
  *
+ * Every script file gets a {@link CompiledScriptPool}, so a script can be evaluated by several threads concurrently.
+ *
  * @author Thomas Kordelle - pre compiled scripts
  *
  */
 @NonNullByDefault
-@Component(service = JavaScriptEngineManager.class)
+@Component(service = JavaScriptEngineManager.class, configurationPid = "transform.javascript")
 public class JavaScriptEngineManager {
 
+    /** Time in milliseconds to wait for an idle instance of a script */
+    private static final long POOL_TIMEOUT = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, CompiledScriptPool> compiledScriptMap = new ConcurrentHashMap<>();
+
+    private volatile JavaScriptTransformationConfiguration configuration = new JavaScriptTransformationConfiguration();
+
+    @Activate
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        if (config == null) {
+            return;
+        }
+        configuration = new Configuration(config).as(JavaScriptTransformationConfiguration.class);
+        // drop the pools, they are created again with the new size on their next use
+        compiledScriptMap.clear();
+        logger.debug("JavaScript pool size {}, slow script threshold {} ms", configuration.poolSize,
+                configuration.slowScriptThreshold);
+    }
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Get a pool of pre compiled scripts from cache. If it is not in the cache, then load it from
+     * storage and put a pool with a pre compiled version into the cache.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return a pool of pre compiled scripts
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
-            }
+    protected CompiledScriptPool getScript(final String filename) throws TransformationException {
+        CompiledScriptPool pool = compiledScriptMap.get(filename);
+        if (pool != null) {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+            return pool;
+        }
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        final String source;
+        try {
+            source = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+        pool = new CompiledScriptPool(filename, source, manager, Math.max(1, configuration.poolSize),
+                POOL_TIMEOUT);
+        // a concurrent load of the same script wins, the pool compiled here is dropped
+        CompiledScriptPool existing = compiledScriptMap.putIfAbsent(filename, pool);
+        if (existing != null) {
+            return existing;
+        }
+        logger.debug("Putting compiled JavaScript {} to cache.", filename);
+        return pool;
+    }
+
+    /**
+     * Log the execution time of a script, as a warning if it is slow.
+     *
+     * @param filename name of the script file
+     * @param pool the pool of the script
+     * @param elapsedMillis the execution time in milliseconds
+     */
+    protected void reportExecution(String filename, CompiledScriptPool pool, long elapsedMillis) {
+        if (elapsedMillis > configuration.slowScriptThreshold) {
+            logger.warn("JavaScript {} took {} ms (average {} ms, max {} ms over {} executions)", filename,
+                    elapsedMillis, pool.getAverageMillis(), pool.getMaxMillis(), pool.getExecutions());
+        } else {
+            logger.trace("JavaScript {} took {} ms (average {} ms, max {} ms over {} executions)", filename,
+                    elapsedMillis, pool.getAverageMillis(), pool.getMaxMillis(), pool.getExecutions());
         }
     }
 
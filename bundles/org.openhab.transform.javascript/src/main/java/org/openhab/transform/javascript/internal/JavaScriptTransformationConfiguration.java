@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+/**
+ * The {@link JavaScriptTransformationConfiguration} class contains fields mapping the service configuration
+ * parameters.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptTransformationConfiguration {
+    /** Maximum number of concurrently evaluated instances of a script */
+    public int poolSize = 2;
+    /** Executions taking longer than this number of milliseconds are logged as warning */
+    public long slowScriptThreshold = 1000;
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class CompiledScriptPoolTest {
+
+    /**
+     * Counts the script engines, every pooled instance is compiled on its own engine
+     */
+    private static class CountingScriptEngineManager extends ScriptEngineManager {
+        final AtomicInteger engines = new AtomicInteger();
+
+        @Override
+        public ScriptEngine getEngineByName(String shortName) {
+            engines.incrementAndGet();
+            return super.getEngineByName(shortName);
+        }
+    }
+
+    private final CountingScriptEngineManager manager = new CountingScriptEngineManager();
+
+    @Test
+    public void testInstanceIsReused() throws TransformationException {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", "input + '!'", manager, 2, 1000);
+
+        assertEquals("a!", pool.eval("a"));
+        assertEquals("b!", pool.eval("b"));
+        assertEquals(1, manager.engines.get());
+    }
+
+    @Test
+    public void testVariablesAreNotKeptBetweenExecutions() throws TransformationException {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js",
+                "var first = typeof first === 'undefined' ? input : first; first", manager, 1, 1000);
+
+        assertEquals("a", pool.eval("a"));
+        assertEquals("b", pool.eval("b"));
+    }
+
+    @Test
+    public void testConcurrentExecutions() throws Exception {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", "input + '!'", manager, 2, 10000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String input = String.valueOf(i);
+                results.add(executor.submit(() -> pool.eval(input)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i + "!", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(manager.engines.get() <= 2);
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testCompileError() throws TransformationException {
+        new CompiledScriptPool("test.js", "input +", manager, 2, 1000);
+    }
+
+    @Test
+    public void testScriptError() throws TransformationException {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", "undefinedFunction(input)", manager, 1, 1000);
+        for (int i = 0; i < 2; i++) {
+            try {
+                pool.eval("a");
+                fail();
+            } catch (TransformationException e) {
+                // the instance is returned to the pool
+            }
+        }
+        assertEquals(1, manager.engines.get());
+    }
+
+    @Test
+    public void testExecutionTimeExcludesWaiting() throws Exception {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", "java.lang.Thread.sleep(input); input", manager,
+                1, 10000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> slow = executor.submit(() -> pool.eval("500"));
+            // wait until the only instance is busy
+            Thread.sleep(100);
+            AtomicLong elapsed = new AtomicLong(-1);
+            assertEquals("0", pool.eval("0", elapsed::set));
+            assertEquals("500", slow.get());
+            assertTrue(elapsed.get() >= 0 && elapsed.get() < 300);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeoutWaitingForIdleInstance() throws Exception {
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", "java.lang.Thread.sleep(input); input", manager,
+                1, 50);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> slow = executor.submit(() -> pool.eval("1000"));
+            // wait until the only instance is busy
+            Thread.sleep(200);
+            try {
+                pool.eval("0");
+                fail();
+            } catch (TransformationException e) {
+                assertTrue(e.getMessage().startsWith("Timed out"));
+            }
+            assertEquals("1000", slow.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
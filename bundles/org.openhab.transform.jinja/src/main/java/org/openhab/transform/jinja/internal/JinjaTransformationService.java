@@ -13,12 +13,11 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,11 +30,23 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.interpret.TemplateSyntaxException;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Templates are parsed once and kept in a bounded cache, together with their parse errors. JSON input is exposed to the
+ * template through {@link JsonNodeBindings}, without copying the parsed document.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -43,10 +54,29 @@ import com.hubspot.jinjava.Jinjava;
 @Component(immediate = true, property = { "smarthome.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_TEMPLATES = 100;
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private Jinjava jinjava = new Jinjava();
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LRUCache<String, ParsedTemplate> templates = new LRUCache<>(MAX_CACHED_TEMPLATES);
+
+    /**
+     * A parsed template together with the fatal errors found while parsing it
+     */
+    private static class ParsedTemplate {
+        final @Nullable Node root;
+        final List<TemplateError> fatalErrors;
+
+        ParsedTemplate(@Nullable Node root, List<TemplateError> fatalErrors) {
+            this.root = root;
+            this.fatalErrors = fatalErrors;
+        }
+    }
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -62,46 +92,63 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
+            JsonNode tree = objectMapper.readTree(value);
+            if (tree != null) {
+                bindings.put("value_json", JsonNodeBindings.toObject(tree));
+            }
         } catch (IOException e) {
             // ok, then value_json is null...
         }
 
-        String transformationResult = jinjava.render(template, bindings);
+        String transformationResult = render(template, templates.get(template, this::parse), bindings);
 
         logger.debug("transformation resulted in '{}'", transformationResult);
 
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
-            }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
+    /**
+     * Parses a template. Templates with errors are cached as well, so they are not parsed again on every
+     * transformation.
+     */
+    private ParsedTemplate parse(String template) {
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, new Context(jinjava.getGlobalContext()),
+                jinjava.getGlobalConfig());
+        try {
+            Node root = interpreter.parse(template);
+            return new ParsedTemplate(root, interpreter.getErrors().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList()));
+        } catch (TemplateSyntaxException e) {
+            return new ParsedTemplate(null, Collections.singletonList(TemplateError.fromException(e)));
+        } catch (InterpretException e) {
+            return new ParsedTemplate(null, Collections.singletonList(TemplateError.fromSyntaxError(e)));
+        }
+    }
+
+    /**
+     * Renders a parsed template the same way {@link Jinjava#render(String, Map)} renders a template from source.
+     *
+     * @throws FatalTemplateErrorsException if the template has fatal errors
+     */
+    private String render(String template, ParsedTemplate parsed, Map<String, @Nullable Object> bindings) {
+        Node root = parsed.root;
+        if (root == null || !parsed.fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, parsed.fatalErrors);
+        }
+        Context context = new Context(jinjava.getGlobalContext(), bindings);
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrors().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
+            return result;
+        } finally {
+            jinjava.getGlobalContext().reset();
+            JinjavaInterpreter.popCurrent();
         }
     }
 }
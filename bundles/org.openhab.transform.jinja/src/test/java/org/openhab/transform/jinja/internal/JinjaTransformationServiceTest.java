@@ -17,6 +17,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+
 /**
  * @author Jochen Klein - Initial contribution
  */
@@ -58,4 +60,45 @@ public class JinjaTransformationServiceTest {
         // Asserts
         Assert.assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testIterateJsonArrayAndObject() throws TransformationException {
+        String json = "{\"values\":[1,2,{\"x\":true}],\"sensor\":{\"Temperature\":4.7,\"Humidity\":99.9}}";
+        String template = "{% for i in value_json['values'] %}[{{i}}]{% endfor %}"
+                + "{% for k, v in value_json.sensor.items() %}{{k}}={{v}};{% endfor %}";
+
+        // rendered twice, the second time from the cached template
+        for (int i = 0; i < 2; i++) {
+            // method under test
+            String transformedResponse = processor.transform(template, json);
+
+            // Asserts
+            Assert.assertEquals("[1][2][{x=true}]Temperature=4.7;Humidity=99.9;", transformedResponse);
+        }
+    }
+
+    @Test
+    public void testEmptyValue() throws TransformationException {
+        // method under test
+        String transformedResponse = processor.transform("Hello {{ value }}!", "");
+
+        // Asserts
+        Assert.assertEquals("Hello !", transformedResponse);
+    }
+
+    @Test
+    public void testTemplateWithErrors() throws TransformationException {
+        // rendered twice, the second time from the cached template
+        for (int i = 0; i < 2; i++) {
+            try {
+                // method under test
+                processor.transform("Hello {% if value %}", "world");
+                Assert.fail();
+            } catch (FatalTemplateErrorsException e) {
+                // Asserts
+                Assert.assertEquals("Hello {% if value %}", e.getTemplate());
+                Assert.assertTrue(e.getErrors().iterator().hasNext());
+            }
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * A short-lived cache of parsed JSON documents, keyed by the SHA-256 digest of the JSON source.
+ *
+ * <p>
+ * Several channels or profiles usually apply different JsonPath expressions to the very same payload within a few
+ * milliseconds. With this cache the payload is parsed by the first transformation only, all other transformations
+ * evaluate their path against the already parsed document. Only the digest is kept as key, not the payload itself.
+ * Expired entries are removed when they are accessed and before a new document is cached.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DocumentContextCache {
+
+    private static class CachedDocument {
+        final DocumentContext document;
+        final long expiresAt;
+
+        CachedDocument(DocumentContext document, long expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+
+    private final LRUCache<ByteBuffer, CachedDocument> documents;
+    private final long ttlNanos;
+
+    /**
+     * @param maxSize the maximum number of cached documents
+     * @param ttl the time in milliseconds a parsed document is kept
+     */
+    DocumentContextCache(int maxSize, long ttl) {
+        this.documents = new LRUCache<>(maxSize);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+
+    /**
+     * Returns the parsed document for the given JSON source, parsing it if it is not cached or expired.
+     *
+     * @param source the JSON source
+     * @return the parsed document
+     * @throws InvalidJsonException if the source is not valid JSON
+     */
+    DocumentContext get(String source) {
+        ByteBuffer key = digest(source);
+        long now = System.nanoTime();
+        CachedDocument cached = documents.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached.document;
+            }
+            documents.remove(key);
+        }
+        // parsed outside of the lock, a concurrent miss for the same source just parses it twice
+        DocumentContext document = JsonPath.parse(source);
+        documents.removeIf(c -> c.isExpired(now));
+        documents.put(key, new CachedDocument(document, now + ttlNanos));
+        return document;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    private static ByteBuffer digest(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -41,8 +41,14 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_DOCUMENTS = 32;
+    private static final long CACHED_DOCUMENT_TTL = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final LRUCache<String, JsonPath> paths = new LRUCache<>(LRUCache.DEFAULT_MAX_SIZE);
+    private final DocumentContextCache documents = new DocumentContextCache(MAX_CACHED_DOCUMENTS, CACHED_DOCUMENT_TTL);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +66,8 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath path = paths.get(jsonPathExpression, JsonPath::compile);
+            Object transformationResult = documents.get(source).read(path);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
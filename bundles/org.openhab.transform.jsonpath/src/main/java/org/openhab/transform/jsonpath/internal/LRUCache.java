@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A bounded cache of the compiled paths and parsed documents. The least recently used entry is evicted if the cache is full.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+@NonNullByDefault
+public class LRUCache<K, V> {
+
+    /** The default maximum number of entries */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    /**
+     * Creates the value for a key that is not cached.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    private final Map<K, V> entries;
+
+    /**
+     * @param maxSize the maximum number of entries
+     */
+    @SuppressWarnings("serial")
+    public LRUCache(int maxSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached value for the given key, loading and caching it on a miss.
+     *
+     * <p>
+     * The value is loaded outside of the lock, a concurrent miss for the same key just loads it twice. If the loader
+     * throws, nothing is cached.
+     *
+     * @param key the key
+     * @param loader creates the value on a miss
+     * @return the cached or loaded value
+     * @throws E if the loader fails
+     */
+    public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+        V value = entries.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.load(key);
+        entries.put(key, value);
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the given key, without loading it on a miss.
+     *
+     * @param key the key
+     * @return the cached value or null
+     */
+    public @Nullable V getIfPresent(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches a value, replacing any cached value for the key.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Removes the entry of the given key.
+     *
+     * @param key the key
+     */
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries with a value matching the given filter.
+     *
+     * @param filter the filter
+     */
+    public void removeIf(Predicate<V> filter) {
+        entries.values().removeIf(filter);
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
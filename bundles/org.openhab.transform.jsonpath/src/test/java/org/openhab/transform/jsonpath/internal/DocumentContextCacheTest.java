@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.jayway.jsonpath.DocumentContext;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class DocumentContextCacheTest {
+
+    private static final String JSON = "{\"id\":1}";
+
+    @Test
+    public void testEqualSourcesAreParsedOnce() {
+        DocumentContextCache cache = new DocumentContextCache(10, 60000);
+
+        DocumentContext document = cache.get(JSON);
+
+        assertSame(document, cache.get(new String(JSON)));
+        assertNotSame(document, cache.get("{\"id\":2}"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testExpiredDocumentsAreRemoved() throws InterruptedException {
+        DocumentContextCache cache = new DocumentContextCache(10, 10);
+        DocumentContext document = cache.get(JSON);
+        cache.get("{\"id\":2}");
+        Thread.sleep(20);
+
+        assertNotSame(document, cache.get(JSON));
+        assertEquals(1, cache.size());
+    }
+}
@@ -128,4 +128,20 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testRepeatedPath() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+    }
+
+    @Test
+    public void testSameDocumentWithDifferentPaths() throws TransformationException {
+        // a different String instance with the same content, as received by another channel
+        String sameJsonArray = new String(jsonArray);
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", sameJsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+    }
 }
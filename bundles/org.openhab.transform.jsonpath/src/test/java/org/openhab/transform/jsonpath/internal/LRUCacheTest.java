@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class LRUCacheTest {
+
+    private final List<String> loaded = new ArrayList<>();
+
+    private String load(String key) {
+        loaded.add(key);
+        return key.toUpperCase();
+    }
+
+    @Test
+    public void testValuesAreLoadedOnce() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+
+        assertEquals("A", cache.get("a", this::load));
+        assertEquals("B", cache.get("b", this::load));
+        assertEquals("A", cache.get("a", this::load));
+
+        assertEquals(Arrays.asList("a", "b"), loaded);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        LRUCache<String, String> cache = new LRUCache<>(2);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        // a is now used more recently than b
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("C", cache.getIfPresent("c"));
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        try {
+            cache.get("a", key -> {
+                throw new IOException("failed");
+            });
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals("A", cache.get("a", this::load));
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.put("a", "x");
+        assertEquals("x", cache.get("a", this::load));
+
+        cache.remove("a");
+        assertNull(cache.getIfPresent("a"));
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    public void testRemoveIf() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.put("a", "x");
+        cache.put("b", "y");
+
+        cache.removeIf("x"::equals);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("y", cache.getIfPresent("b"));
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * An immutable lookup table of a map file.
+ *
+ * All keys are packed into a single char array and located by an open-addressing hash table with linear probing, so a
+ * lookup neither allocates nor locks. Equal values share a single String instance, as map files usually map many keys
+ * to a few values. Compared to {@link Properties} this saves the entry, key String and key array objects of every
+ * mapping.
+ *
+ * @author agent - Initial contribution
+ */
+public final class MapTable {
+
+    /** All keys, concatenated */
+    private final char[] keyChars;
+    /** The start of key i in keyChars; the key ends at the start of key i + 1 */
+    private final int[] keyStarts;
+    private final int[] keyHashes;
+    private final String[] values;
+    /** The hash table; index of the key + 1 or 0 for an empty slot */
+    private final int[] slots;
+    private final int mask;
+    private final String defaultValue;
+
+    /**
+     * Builds the table of a map file.
+     *
+     * @param properties the mappings as loaded from the map file
+     */
+    public MapTable(Properties properties) {
+        Set<String> keys = properties.stringPropertyNames();
+        int size = keys.size();
+        int length = 0;
+        for (String key : keys) {
+            length += key.length();
+        }
+        keyChars = new char[length];
+        keyStarts = new int[size + 1];
+        keyHashes = new int[size];
+        values = new String[size];
+        // at most half of the slots are used, which keeps the probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+
+        Map<String, String> uniqueValues = new HashMap<>();
+        int index = 0;
+        int position = 0;
+        for (String key : keys) {
+            key.getChars(0, key.length(), keyChars, position);
+            keyStarts[index] = position;
+            position += key.length();
+            int hash = hash(key);
+            keyHashes[index] = hash;
+            String value = properties.getProperty(key);
+            values[index] = uniqueValues.computeIfAbsent(value, v -> v);
+
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+            index++;
+        }
+        keyStarts[size] = position;
+        defaultValue = properties.getProperty("");
+    }
+
+    /**
+     * Returns the value mapped to a key.
+     *
+     * @param key the key
+     * @return the value or null if the map file does not contain the key
+     */
+    public String get(String key) {
+        int hash = hash(key);
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (keyHashes[index] == hash && keyEquals(index, key)) {
+                return values[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the default mapping, the key of which is empty.
+     *
+     * @return the default value or null if the map file does not define one
+     */
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    public int size() {
+        return values.length;
+    }
+
+    private boolean keyEquals(int index, String key) {
+        int start = keyStarts[index];
+        int length = keyStarts[index + 1] - start;
+        if (length != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (keyChars[start + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the bits of String.hashCode(), as keys often only differ in their last characters.
+     */
+    private static int hash(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class MapTableTest {
+
+    private static final int THREADS = 8;
+    private static final int CODES = 20000;
+
+    private static Properties load(String content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(content));
+        return properties;
+    }
+
+    @Test
+    public void testLookup() throws IOException {
+        MapTable table = new MapTable(load("CLOSED=zu\nOPEN=auf\n-=-\nAa=first\nBB=second\nkey\\ with\\ spaces=x\n"));
+
+        Assert.assertEquals(6, table.size());
+        Assert.assertEquals("zu", table.get("CLOSED"));
+        Assert.assertEquals("auf", table.get("OPEN"));
+        Assert.assertEquals("-", table.get("-"));
+        // "Aa" and "BB" have the same hash code
+        Assert.assertEquals("first", table.get("Aa"));
+        Assert.assertEquals("second", table.get("BB"));
+        Assert.assertEquals("x", table.get("key with spaces"));
+        Assert.assertNull(table.get("CLOSE"));
+        Assert.assertNull(table.get("CLOSED "));
+        Assert.assertNull(table.get(""));
+        Assert.assertNull(table.getDefaultValue());
+    }
+
+    @Test
+    public void testDefaultValue() throws IOException {
+        MapTable table = new MapTable(load("CLOSED=zu\n=Default Value\n"));
+
+        Assert.assertEquals("Default Value", table.getDefaultValue());
+        Assert.assertEquals("Default Value", table.get(""));
+        Assert.assertNull(table.get("UNKNOWN"));
+    }
+
+    @Test
+    public void testEmptyMap() throws IOException {
+        MapTable table = new MapTable(load("# only a comment\n"));
+
+        Assert.assertEquals(0, table.size());
+        Assert.assertNull(table.get("anything"));
+        Assert.assertNull(table.getDefaultValue());
+    }
+
+    @Test
+    public void testEqualValuesAreShared() throws IOException {
+        MapTable table = new MapTable(load("1=ALARM\n2=ALARM\n3=OK\n"));
+
+        Assert.assertSame(table.get("1"), table.get("2"));
+    }
+
+    @Test
+    public void testConcurrentLookupsOfLargeMap() throws Exception {
+        Properties properties = new Properties();
+        for (int i = 0; i < CODES; i++) {
+            properties.setProperty("E" + i, "Zone " + (i % 64) + " alarm");
+        }
+        MapTable table = new MapTable(properties);
+        Assert.assertEquals(CODES, table.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t;
+                results.add(executor.submit(() -> {
+                    int mismatches = 0;
+                    for (int i = 0; i < CODES * 2; i++) {
+                        String key = "E" + ((i + offset) % (CODES + CODES / 10));
+                        String expected = properties.getProperty(key);
+                        String actual = table.get(key);
+                        if (expected == null ? actual != null : !expected.equals(actual)) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(0, result.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
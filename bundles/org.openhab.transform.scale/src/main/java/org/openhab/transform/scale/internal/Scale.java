@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An immutable, precompiled scale as loaded from a scale file.
+ *
+ * The distinct limits of all ranges split the number line into the limits themselves and the open intervals between
+ * them. No range starts or ends inside such an interval, so all of its values belong to the same ranges. The label of
+ * the first range (in file order) containing a limit or an interval is resolved once when the scale is built, looking
+ * up a value is a binary search over the limits.
+ *
+ * @author agent - Initial contribution
+ */
+public class Scale {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    /** The sorted, distinct limits of all ranges */
+    private final BigDecimal[] limits;
+    /** The label of the first range containing limits[i], or null */
+    private final String[] limitLabels;
+    /** The label of the first range containing the open interval ending at limits[i], or null */
+    private final String[] intervalLabels;
+    private final String nonNumericLabel;
+    /** The format split before and after each placeholder */
+    private final String[] formatParts;
+
+    /**
+     * Builds a scale.
+     *
+     * @param ranges the ranges and their labels, in the order of the scale file
+     * @param nonNumericLabel the label for non numeric values or null
+     * @param format the format of the result, containing the placeholders %value% and %label%
+     */
+    public Scale(Map<Range, String> ranges, String nonNumericLabel, String format) {
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[sortedLimits.size()]);
+        limitLabels = new String[limits.length];
+        intervalLabels = new String[limits.length + 1];
+        for (int i = 0; i < limits.length; i++) {
+            limitLabels[i] = findLabel(ranges, limits[i]);
+        }
+        for (int i = 0; i <= limits.length; i++) {
+            BigDecimal lower = i == 0 ? null : limits[i - 1];
+            BigDecimal upper = i == limits.length ? null : limits[i];
+            intervalLabels[i] = findLabel(ranges, lower, upper);
+        }
+        this.nonNumericLabel = nonNumericLabel;
+        this.formatParts = splitFormat(format);
+    }
+
+    /**
+     * Returns the label of the first range containing the value.
+     *
+     * @param value the value
+     * @return the label or null if no range contains the value
+     */
+    public String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(limits, value);
+        return index >= 0 ? limitLabels[index] : intervalLabels[-index - 1];
+    }
+
+    /**
+     * Returns the label for non numeric values.
+     *
+     * @return the label or null if the scale does not define one
+     */
+    public String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * Formats the result of the transformation.
+     *
+     * @param value the transformed value
+     * @param label the label of the value
+     * @return the formatted result
+     */
+    public String format(String value, String label) {
+        StringBuilder result = new StringBuilder();
+        for (String part : formatParts) {
+            if (FORMAT_VALUE.equals(part)) {
+                result.append(value);
+            } else if (FORMAT_LABEL.equals(part)) {
+                result.append(label);
+            } else {
+                result.append(part);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String findLabel(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the label of the first range containing the whole open interval ]lower..upper[, where null means
+     * unbounded. As lower and upper are neighbouring limits, a range contains either all or none of its values.
+     */
+    private static String findLabel(Map<Range, String> ranges, BigDecimal lower, BigDecimal upper) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            Range range = entry.getKey();
+            boolean minMatch = range.min == null || (lower != null && range.min.compareTo(lower) <= 0);
+            boolean maxMatch = range.max == null || (upper != null && range.max.compareTo(upper) >= 0);
+            if (minMatch && maxMatch) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String[] splitFormat(String format) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int index = valueIndex < 0 ? labelIndex
+                    : labelIndex < 0 ? valueIndex : Math.min(valueIndex, labelIndex);
+            if (index < 0) {
+                parts.add(format.substring(start));
+                break;
+            }
+            if (index > start) {
+                parts.add(format.substring(start, index));
+            }
+            String placeholder = index == valueIndex ? FORMAT_VALUE : FORMAT_LABEL;
+            parts.add(placeholder);
+            start = index + placeholder.length();
+        }
+        return parts.toArray(new String[parts.size()]);
+    }
+}
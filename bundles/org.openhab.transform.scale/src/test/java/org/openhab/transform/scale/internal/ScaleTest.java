@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ScaleTest {
+
+    private static BigDecimal d(String value) {
+        return new BigDecimal(value);
+    }
+
+    @Test
+    public void testFirstMatchingRangeWins() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closedOpen(d("10"), d("20")), "first");
+        ranges.put(Range.open(d("0"), d("100")), "second");
+        ranges.put(Range.atMost(d("0")), "low");
+        ranges.put(Range.closed(d("100"), d("100")), "hundred");
+        Scale scale = new Scale(ranges, null, "%label%");
+
+        Assert.assertEquals("low", scale.getLabel(d("-5")));
+        Assert.assertEquals("low", scale.getLabel(d("0.00")));
+        Assert.assertEquals("second", scale.getLabel(d("0.001")));
+        Assert.assertEquals("first", scale.getLabel(d("10")));
+        Assert.assertEquals("first", scale.getLabel(d("19.99")));
+        Assert.assertEquals("second", scale.getLabel(d("20")));
+        Assert.assertEquals("hundred", scale.getLabel(d("100")));
+        Assert.assertNull(scale.getLabel(d("100.5")));
+    }
+
+    @Test
+    public void testFormat() {
+        Scale scale = new Scale(new LinkedHashMap<>(), null, "%label% (%value% $) %label%");
+
+        Assert.assertEquals("a$1 (5\\ $) a$1", scale.format("5\\", "a$1"));
+    }
+}
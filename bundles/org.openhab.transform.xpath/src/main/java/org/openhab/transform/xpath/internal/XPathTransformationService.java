@@ -13,12 +13,16 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +45,21 @@ import org.xml.sax.InputSource;
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_POOLED_BUILDERS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+    private final Queue<DocumentBuilder> builders = new ConcurrentLinkedQueue<>();
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    // An XPathExpression is not thread-safe, it is evaluated while synchronized on the expression
+    private final LRUCache<String, XPathExpression> expressions = new LRUCache<>(LRUCache.DEFAULT_MAX_SIZE);
+
+    public XPathTransformationService() {
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -52,12 +69,10 @@ public class XPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
         StringReader stringReader = null;
+        DocumentBuilder builder = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            builder = borrowBuilder();
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -65,10 +80,12 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = expressions.get(xpathExpression, this::compile);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -79,6 +96,35 @@ public class XPathTransformationService implements TransformationService {
             if (stringReader != null) {
                 stringReader.close();
             }
+            if (builder != null) {
+                returnBuilder(builder);
+            }
+        }
+    }
+
+    private DocumentBuilder borrowBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = builders.poll();
+        if (builder != null) {
+            return builder;
+        }
+        // the factory is not guaranteed to be thread-safe
+        synchronized (domFactory) {
+            return domFactory.newDocumentBuilder();
+        }
+    }
+
+    private void returnBuilder(DocumentBuilder builder) {
+        // the size is only a hint under concurrency, the pool may slightly exceed its limit
+        if (builders.size() < MAX_POOLED_BUILDERS) {
+            builder.reset();
+            builders.offer(builder);
+        }
+    }
+
+    private XPathExpression compile(String expression) throws XPathExpressionException {
+        // the XPath object is not thread-safe either
+        synchronized (xpath) {
+            return xpath.compile(expression);
         }
     }
 }
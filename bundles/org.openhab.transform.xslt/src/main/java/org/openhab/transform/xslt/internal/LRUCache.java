@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A bounded cache of the compiled stylesheets. The least recently used entry is evicted if the cache is full.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+@NonNullByDefault
+public class LRUCache<K, V> {
+
+    /** The default maximum number of entries */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    private final Map<K, V> entries;
+
+    /**
+     * @param maxSize the maximum number of entries
+     */
+    @SuppressWarnings("serial")
+    public LRUCache(int maxSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached value for the given key, without loading it on a miss.
+     *
+     * @param key the key
+     * @return the cached value or null
+     */
+    public @Nullable V getIfPresent(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches a value, replacing any cached value for the key.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+}
@@ -16,8 +16,8 @@ import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,6 +35,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * <p>
+ * Stylesheets are compiled once into {@link Templates}, which are cached until the stylesheet file changes.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
@@ -43,6 +46,23 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private final LRUCache<String, CompiledStylesheet> stylesheets = new LRUCache<>(LRUCache.DEFAULT_MAX_SIZE);
+
+    /**
+     * A compiled stylesheet together with the modification time of the file it was compiled from
+     */
+    private static class CompiledStylesheet {
+        final Templates templates;
+        final long lastModified;
+
+        CompiledStylesheet(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,30 +80,18 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
-
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
+        String path = ConfigConstants.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
+                + File.separator + filename;
+        Templates templates = getTemplates(path);
 
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
-
-        StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
-        } catch (Exception e) {
+            // a Transformer is lightweight, but not thread-safe
+            templates.newTransformer().transform(new StreamSource(new StringReader(source)), new StreamResult(out));
+        } catch (TransformerException e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
         }
@@ -92,4 +100,31 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Returns the compiled stylesheet of the given file, compiling it if it is not cached or the file has changed.
+     */
+    private Templates getTemplates(String path) throws TransformationException {
+        long lastModified = new File(path).lastModified();
+        CompiledStylesheet stylesheet = stylesheets.getIfPresent(path);
+        if (stylesheet == null || stylesheet.lastModified != lastModified) {
+            stylesheet = new CompiledStylesheet(compile(path), lastModified);
+            stylesheets.put(path, stylesheet);
+        }
+        return stylesheet.templates;
+    }
+
+    private Templates compile(String path) throws TransformationException {
+        try {
+            // the factory is not thread-safe
+            synchronized (transformerFactory) {
+                return transformerFactory.newTemplates(new StreamSource(new File(path)));
+            }
+        } catch (TransformerException e) {
+            String message = "compiling file '" + path + "' throws exception";
+
+            logger.error("{}", message, e);
+            throw new TransformationException(message, e);
+        }
+    }
 }
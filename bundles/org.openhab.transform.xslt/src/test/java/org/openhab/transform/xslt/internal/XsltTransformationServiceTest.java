@@ -38,4 +38,16 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXSLT() throws TransformationException {
+        // the second transformation uses the compiled stylesheet
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformInvalidXML() throws TransformationException {
+        processor.transform("http/google_weather.xsl", "<xml_api_reply>");
+    }
 }
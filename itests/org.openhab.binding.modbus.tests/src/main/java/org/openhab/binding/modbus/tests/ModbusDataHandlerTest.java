@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -607,6 +608,64 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, is(equalTo(new StringType("ON"))));
     }
 
+    private void pollAgain(ModbusDataThingHandler dataHandler, ModbusRegisterArray registers) {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, registers));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueWithDefaultTransformation() throws InvalidSyntaxException {
+        ModbusRegisterArray registers = new ModbusRegisterArray(
+                new ModbusRegister[] { new ModbusRegister((byte) 0x00, (byte) 0x05) });
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null, registers, null, bundleContext);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+
+        // Unchanged value, channels are updated again only after updateUnchangedValuesEveryMillis
+        pollAgain(dataHandler, registers);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+        assertSingleStateUpdate(dataHandler, CHANNEL_STRING, new StringType("5"));
+
+        pollAgain(dataHandler,
+                new ModbusRegisterArray(new ModbusRegister[] { new ModbusRegister((byte) 0x00, (byte) 0x06) }));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(
+                    getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER)));
+            assertThat(updates, is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(6)))));
+        });
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueIsTransformedAgain() throws InvalidSyntaxException {
+        AtomicInteger calls = new AtomicInteger();
+        mockTransformation("COUNTER", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                return String.valueOf(calls.incrementAndGet());
+            }
+        });
+        ModbusRegisterArray registers = new ModbusRegisterArray(
+                new ModbusRegister[] { new ModbusRegister((byte) 0x00, (byte) 0x05) });
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "COUNTER(x)", ModbusConstants.ValueType.INT16, null, registers, null, bundleContext);
+        int callsAfterFirstPoll = calls.get();
+        assertThat(callsAfterFirstPoll, is(not(equalTo(0))));
+
+        // Transformation output might change even when the polled value does not
+        pollAgain(dataHandler, registers);
+        assertThat(calls.get(), is(equalTo(2 * callsAfterFirstPoll)));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(
+                    getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_STRING)));
+            assertThat(updates, is(notNullValue()));
+            assertThat(updates.size(), is(equalTo(2)));
+            assertThat(updates.get(0), is(not(equalTo(updates.get(1)))));
+        });
+    }
+
     @Test
     public void testWriteRealTransformation() throws InvalidSyntaxException {
         captureModbusWrites();